@@ -0,0 +1,116 @@
+/*
+ *
+ * Copyright 2013 Matt Joseph
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.devadvance.circularseekbar;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The cache lookup of {@code CircularSeekBarAttributes.obtain} for 500 inflations of a list item layout
+ * with a few CircularSeekBar variants, each with a dozen XML attributes.
+ * {@code legacy} is the original lookup: a {@code StringBuilder} key of every attribute name and value in a {@code HashMap}.
+ * {@code current} builds the 64-bit key with {@link CircularSeekBarAttributeCache#hashAttribute} and looks it up in
+ * {@link CircularSeekBarAttributeCache}, as {@code createKey} does.
+ * Reading the {@code TypedArray} on a miss is Android-only and not included; after the first inflation of
+ * each variant every lookup is a hit. Results are per inflation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class AttributeCacheBenchmark {
+
+	private static final int INFLATION_COUNT = 500;
+	private static final int VARIANT_COUNT = 3;
+	private static final int ATTRIBUTE_COUNT = 12;
+	private static final int DEF_STYLE = 0;
+	private static final int STYLE_ATTRIBUTE = 0;
+	private static final float DPTOPX_SCALE = 2.625f;
+
+	private final int[][] mNameResources = new int[VARIANT_COUNT][ATTRIBUTE_COUNT];
+	private final String[][] mNames = new String[VARIANT_COUNT][ATTRIBUTE_COUNT];
+	private final String[][] mValues = new String[VARIANT_COUNT][ATTRIBUTE_COUNT];
+	private CircularSeekBarAttributeCache<Object> mCache;
+	private HashMap<String, Object> mLegacyCache;
+	private final Object mParsed = new Object();
+
+	@Setup
+	public void setUp() {
+		for (int variant = 0; variant < VARIANT_COUNT; variant++) {
+			for (int i = 0; i < ATTRIBUTE_COUNT; i++) {
+				mNameResources[variant][i] = 0x7f040000 + i;
+				mNames[variant][i] = "attribute_" + i;
+				// Like the parser's string pool, the same String instances are returned for every inflation
+				mValues[variant][i] = (i == 0 ? "@color/variant_" + variant : (i * 10) + "dp");
+			}
+		}
+		mCache = new CircularSeekBarAttributeCache<Object>(32);
+		mLegacyCache = new HashMap<String, Object>();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(INFLATION_COUNT)
+	public int legacy() {
+		int hits = 0;
+		for (int n = 0; n < INFLATION_COUNT; n++) {
+			int variant = n % VARIANT_COUNT;
+			StringBuilder builder = new StringBuilder();
+			builder.append(DEF_STYLE).append('|').append(DPTOPX_SCALE);
+			builder.append('|').append(STYLE_ATTRIBUTE);
+			for (int i = 0; i < ATTRIBUTE_COUNT; i++) {
+				builder.append('|').append(mNameResources[variant][i]).append(mNames[variant][i])
+					.append('=').append(mValues[variant][i]);
+			}
+			String key = builder.toString();
+			if (mLegacyCache.get(key) != null) {
+				hits++;
+			} else {
+				mLegacyCache.put(key, mParsed);
+			}
+		}
+		return hits;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(INFLATION_COUNT)
+	public int current() {
+		int hits = 0;
+		for (int n = 0; n < INFLATION_COUNT; n++) {
+			int variant = n % VARIANT_COUNT;
+			long key = CircularSeekBarAttributeCache.startKey(DEF_STYLE, DPTOPX_SCALE);
+			key = CircularSeekBarAttributeCache.hash(key, STYLE_ATTRIBUTE);
+			for (int i = 0; i < ATTRIBUTE_COUNT; i++) {
+				key = CircularSeekBarAttributeCache.hashAttribute(key, mNameResources[variant][i], mNames[variant][i], mValues[variant][i]);
+			}
+			if (mCache.get(key) != null) {
+				hits++;
+			} else {
+				mCache.put(key, mParsed);
+			}
+		}
+		return hits;
+	}
+}
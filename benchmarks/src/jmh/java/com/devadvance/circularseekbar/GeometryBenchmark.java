@@ -0,0 +1,119 @@
+/*
+ *
+ * Copyright 2013 Matt Joseph
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.devadvance.circularseekbar;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the geometry that CircularSeekBar computes on every progress change and on every layout,
+ * through {@link CircularSeekBarGeometry}. Each benchmark cycles through a fixed set of inputs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class GeometryBenchmark {
+
+	private static final int INPUT_COUNT = 256;
+	private static final float START_ANGLE = 135f;
+	private static final float END_ANGLE = 45f;
+	private static final float X_RADIUS = 300f;
+	private static final float Y_RADIUS = 200f;
+	private static final double MAX = 1000;
+	private static final int TICK_COUNT = 12;
+
+	private final double[] mProgress = new double[INPUT_COUNT];
+	private final float[] mDegrees = new float[INPUT_COUNT];
+	private final float[] mOutXY = new float[2];
+	private final float[] mOutBounds = new float[4];
+	private final float[] mTickLines = new float[(TICK_COUNT + 1) * 4];
+	private float mTotalDegrees;
+	private int mIndex;
+
+	@Setup
+	public void setUp() {
+		mTotalDegrees = CircularSeekBarGeometry.totalDegrees(START_ANGLE, END_ANGLE);
+		for (int i = 0; i < INPUT_COUNT; i++) {
+			mProgress[i] = MAX * i / (INPUT_COUNT - 1);
+			mDegrees[i] = mTotalDegrees * i / (INPUT_COUNT - 1);
+		}
+	}
+
+	private int nextIndex() {
+		mIndex = (mIndex + 1) & (INPUT_COUNT - 1);
+		return mIndex;
+	}
+
+	/**
+	 * {@code calculatePointerAngle()} followed by {@code calculateProgressDegrees()}.
+	 */
+	@Benchmark
+	public float pointerAngleAndProgressDegrees() {
+		float pointerPosition = CircularSeekBarGeometry.angleForProgress(mProgress[nextIndex()], MAX, START_ANGLE, mTotalDegrees);
+		return CircularSeekBarGeometry.clockwiseDistance(START_ANGLE, pointerPosition);
+	}
+
+	/**
+	 * The progress for a touch, without snapping.
+	 */
+	@Benchmark
+	public double progressForDegrees() {
+		return CircularSeekBarGeometry.progressForDegrees(mDegrees[nextIndex()], mTotalDegrees, MAX, 0, 0);
+	}
+
+	/**
+	 * The progress for a touch, snapped to ticks.
+	 */
+	@Benchmark
+	public double progressForDegreesWithTicks() {
+		return CircularSeekBarGeometry.progressForDegrees(mDegrees[nextIndex()], mTotalDegrees, MAX, TICK_COUNT, 0);
+	}
+
+	/**
+	 * {@code calculatePointerXYPosition()}.
+	 */
+	@Benchmark
+	public float arcEndPoint() {
+		CircularSeekBarGeometry.arcEndPoint(START_ANGLE, mDegrees[nextIndex()], X_RADIUS, Y_RADIUS, mOutXY);
+		return mOutXY[0] + mOutXY[1];
+	}
+
+	/**
+	 * The arithmetic of {@code recalculateAll()}: the arc length, the pointer angle and position,
+	 * the bounds of the progress arc and the tick marks. The {@code Path} and {@code RectF} calls are Android-only and not included.
+	 */
+	@Benchmark
+	public float recalculateAllGeometry() {
+		float totalDegrees = CircularSeekBarGeometry.totalDegrees(START_ANGLE, END_ANGLE);
+		float pointerPosition = CircularSeekBarGeometry.angleForProgress(mProgress[nextIndex()], MAX, START_ANGLE, totalDegrees);
+		float progressDegrees = CircularSeekBarGeometry.clockwiseDistance(START_ANGLE, pointerPosition);
+		CircularSeekBarGeometry.arcEndPoint(START_ANGLE, progressDegrees, X_RADIUS, Y_RADIUS, mOutXY);
+		CircularSeekBarGeometry.arcBounds(START_ANGLE, progressDegrees, X_RADIUS, Y_RADIUS, mOutBounds);
+
+		int tickMarkCount = CircularSeekBarGeometry.tickMarkCount(totalDegrees, TICK_COUNT);
+		CircularSeekBarGeometry.tickMarks(START_ANGLE, totalDegrees, TICK_COUNT, tickMarkCount, X_RADIUS, Y_RADIUS, 2.5f, 0f, 0f, mTickLines);
+		return mOutBounds[0] + mTickLines[TICK_COUNT * 4];
+	}
+}
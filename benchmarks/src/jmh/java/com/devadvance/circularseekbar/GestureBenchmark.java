@@ -0,0 +1,95 @@
+/*
+ *
+ * Copyright 2013 Matt Joseph
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.devadvance.circularseekbar;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Replays a recorded drag through the same calls as {@code CircularSeekBar.handleMoveSample}:
+ * {@link CircularSeekBarGeometry#touchDistances}, {@link CircularSeekBarGesture#move} (the lock state machine
+ * and the hit test) and the progress for the new angle.
+ * The drag goes down on the arc, clockwise past the end into the gap, back, and then up.
+ * Results are per touch sample.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class GestureBenchmark {
+
+	private static final int SAMPLE_COUNT = 400;
+	private static final float START_ANGLE = 135f;
+	private static final float END_ANGLE = 45f;
+	private static final float RADIUS = 300f;
+	private static final float STROKE_WIDTH = 10f;
+	private static final float MIN_TOUCH_TARGET = 96f;
+	private static final double MAX = 1000;
+
+	private final float[] mSampleX = new float[SAMPLE_COUNT];
+	private final float[] mSampleY = new float[SAMPLE_COUNT];
+	private final CircularSeekBarGesture mGesture = new CircularSeekBarGesture();
+	private float mTotalDegrees;
+	private final float[] mTouchRadiiSquared = new float[2];
+	private final float[] mTouchDistances = new float[3];
+
+	@Setup
+	public void setUp() {
+		mTotalDegrees = CircularSeekBarGeometry.totalDegrees(START_ANGLE, END_ANGLE);
+		CircularSeekBarGeometry.touchRadiiSquared(RADIUS, RADIUS, STROKE_WIDTH, MIN_TOUCH_TARGET, mTouchRadiiSquared);
+
+		// Down at the start, clockwise to 60 degrees past the end, and back to the middle of the arc
+		int half = SAMPLE_COUNT / 2;
+		float farthest = mTotalDegrees + 60f;
+		for (int i = 0; i < SAMPLE_COUNT; i++) {
+			float distance = (i < half ? farthest * i / half : farthest - (farthest / 2f) * (i - half) / half);
+			double radians = Math.toRadians(START_ANGLE + distance);
+			float radius = RADIUS + ((i % 7) - 3) * 2f; // A slightly shaky finger
+			mSampleX[i] = radius * (float) Math.cos(radians);
+			mSampleY[i] = radius * (float) Math.sin(radians);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SAMPLE_COUNT)
+	public double replayDrag() {
+		double progress = 0;
+		CircularSeekBarGeometry.touchDistances(mSampleX[0], mSampleY[0], START_ANGLE, END_ANGLE, mTouchDistances);
+		mGesture.start(mTouchDistances[0]);
+		for (int i = 1; i < SAMPLE_COUNT; i++) {
+			CircularSeekBarGeometry.touchDistances(mSampleX[i], mSampleY[i], START_ANGLE, END_ANGLE, mTouchDistances);
+			int result = mGesture.move(mTouchDistances[0], mTouchDistances[1], mTouchDistances[2], mTouchRadiiSquared[1],
+					false, mTotalDegrees, true);
+			if (result == CircularSeekBarGesture.RESULT_AT_START) {
+				progress = 0;
+			} else if (result == CircularSeekBarGesture.RESULT_AT_END) {
+				progress = MAX;
+			} else if (result == CircularSeekBarGesture.RESULT_ON_ARC) {
+				progress = CircularSeekBarGeometry.progressForDegrees(mTouchDistances[0], mTotalDegrees, MAX, 0, 0);
+			}
+		}
+		return progress;
+	}
+}
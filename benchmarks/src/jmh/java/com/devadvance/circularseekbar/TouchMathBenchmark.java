@@ -0,0 +1,118 @@
+/*
+ *
+ * Copyright 2013 Matt Joseph
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.devadvance.circularseekbar;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the per-event touch math of {@code CircularSeekBar.onTouchEvent} before and after the touch radii
+ * were moved into the layout pass. {@code legacy} is the original code: {@code Math.sqrt(Math.pow(...))} in double,
+ * the touch radii recalculated for every event, and a double {@code atan2} conversion with a modulo.
+ * {@code current} calls the shipped routines: {@link CircularSeekBarGeometry#touchRadiiSquared} once, as the layout pass does,
+ * and {@link CircularSeekBarGeometry#touchDistances} and {@link CircularSeekBarGeometry#isNearCircle} for every event.
+ * Results are per touch event.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TouchMathBenchmark {
+
+	private static final int EVENT_COUNT = 256;
+	private static final float START_ANGLE = 135f;
+	private static final float END_ANGLE = 45f;
+	private static final float DPTOPX_SCALE = 2f;
+	private static final float MIN_TOUCH_TARGET_DP = 48;
+	private static final float CIRCLE_WIDTH = 300f;
+	private static final float CIRCLE_HEIGHT = 300f;
+	private static final float CIRCLE_STROKE_WIDTH = 10f;
+
+	private final float[] mEventX = new float[EVENT_COUNT];
+	private final float[] mEventY = new float[EVENT_COUNT];
+	private final float[] mTouchRadiiSquared = new float[2];
+	private final float[] mTouchDistances = new float[3];
+
+	@Setup
+	public void setUp() {
+		for (int i = 0; i < EVENT_COUNT; i++) {
+			double radians = Math.toRadians(360.0 * i / EVENT_COUNT);
+			float radius = CIRCLE_WIDTH + ((i % 9) - 4) * 15f; // Some events miss the circle
+			mEventX[i] = radius * (float) Math.cos(radians);
+			mEventY[i] = radius * (float) Math.sin(radians);
+		}
+
+		// What calculateTouchRadii() does with the layout pass
+		CircularSeekBarGeometry.touchRadiiSquared(CIRCLE_WIDTH, CIRCLE_HEIGHT, CIRCLE_STROKE_WIDTH, MIN_TOUCH_TARGET_DP * DPTOPX_SCALE, mTouchRadiiSquared);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(EVENT_COUNT)
+	public float legacy() {
+		float sum = 0f;
+		for (int i = 0; i < EVENT_COUNT; i++) {
+			float x = mEventX[i];
+			float y = mEventY[i];
+			float touchEventRadius = (float) Math.sqrt((Math.pow(x, 2) + Math.pow(y, 2)));
+
+			float minimumTouchTarget = MIN_TOUCH_TARGET_DP * DPTOPX_SCALE;
+			float additionalRadius;
+			if (CIRCLE_STROKE_WIDTH < minimumTouchTarget) {
+				additionalRadius = minimumTouchTarget / 2;
+			} else {
+				additionalRadius = CIRCLE_STROKE_WIDTH / 2;
+			}
+			float outerRadius = Math.max(CIRCLE_HEIGHT, CIRCLE_WIDTH) + additionalRadius;
+			float innerRadius = Math.min(CIRCLE_HEIGHT, CIRCLE_WIDTH) - additionalRadius;
+
+			float touchAngle = (float) ((java.lang.Math.atan2(y, x) / Math.PI * 180) % 360);
+			touchAngle = (touchAngle < 0 ? 360 + touchAngle : touchAngle);
+
+			float cwDistanceFromStart = touchAngle - START_ANGLE;
+			cwDistanceFromStart = (cwDistanceFromStart < 0 ? 360f + cwDistanceFromStart : cwDistanceFromStart);
+			float cwDistanceFromEnd = touchAngle - END_ANGLE;
+			cwDistanceFromEnd = (cwDistanceFromEnd < 0 ? 360f + cwDistanceFromEnd : cwDistanceFromEnd);
+
+			if (touchEventRadius >= innerRadius && touchEventRadius <= outerRadius) {
+				sum += cwDistanceFromStart + cwDistanceFromEnd;
+			}
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(EVENT_COUNT)
+	public float current() {
+		float sum = 0f;
+		for (int i = 0; i < EVENT_COUNT; i++) {
+			// The same calls as CircularSeekBar.updateTouchDistances() and the hit test in handleDownSample()
+			CircularSeekBarGeometry.touchDistances(mEventX[i], mEventY[i], START_ANGLE, END_ANGLE, mTouchDistances);
+			if (CircularSeekBarGeometry.isNearCircle(mTouchDistances[2], mTouchRadiiSquared[0], mTouchRadiiSquared[1])) {
+				sum += mTouchDistances[0] + mTouchDistances[1];
+			}
+		}
+		return sum;
+	}
+}
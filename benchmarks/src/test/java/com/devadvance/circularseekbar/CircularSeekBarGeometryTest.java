@@ -0,0 +1,127 @@
+/*
+ *
+ * Copyright 2013 Matt Joseph
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.devadvance.circularseekbar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.Test;
+
+public class CircularSeekBarGeometryTest {
+
+	private static final float STROKE_WIDTH = 10f;
+	private static final float POINTER_RADIUS = 14f;
+	private static final float HALO_BORDER_WIDTH = 4f;
+	private static final float START_ANGLE = 135f;
+	private static final float END_ANGLE = 45f;
+	private static final int TICK_COUNT = 12;
+	private static final int ITERATIONS = 10000;
+
+	private final float[] mRadii = new float[2];
+	private final float[] mTouchRadiiSquared = new float[2];
+	private final float[] mTickLines = new float[(TICK_COUNT + 1) * 4];
+	private final float[] mPointerPositionXY = new float[2];
+
+	private static boolean measure(int width, int height, float[] radii) {
+		return CircularSeekBarGeometry.circleRadii(width, height, STROKE_WIDTH, POINTER_RADIUS, HALO_BORDER_WIDTH,
+				false, 0f, 0f, true, radii);
+	}
+
+	/**
+	 * A parent that measures its children several times per layout pass with the same size
+	 * rebuilds the geometry once, the first time.
+	 */
+	@Test
+	public void unchangedMeasureSkipsRebuild() {
+		float[] radii = new float[2];
+		int rebuilds = 0;
+		for (int pass = 0; pass < 3; pass++) {
+			for (int measure = 0; measure < 4; measure++) {
+				if (measure(600, 800, radii)) {
+					rebuilds++;
+				}
+			}
+		}
+		assertEquals(1, rebuilds);
+		assertEquals(600f / 2f - STROKE_WIDTH - POINTER_RADIUS - HALO_BORDER_WIDTH * 1.5f, radii[0], 0f);
+		assertEquals(radii[0], radii[1], 0f);
+	}
+
+	@Test
+	public void changedMeasureRebuilds() {
+		float[] radii = new float[2];
+		assertTrue(measure(600, 800, radii));
+		assertTrue(measure(500, 800, radii));
+		assertFalse(measure(500, 800, radii));
+		// The smaller side is unchanged, so the equal circle keeps its size
+		assertFalse(measure(500, 900, radii));
+	}
+
+	@Test
+	public void customRadiiUsedWhenTheyFit() {
+		float[] radii = new float[2];
+		CircularSeekBarGeometry.circleRadii(600, 600, STROKE_WIDTH, POINTER_RADIUS, HALO_BORDER_WIDTH, true, 100f, 50f, false, radii);
+		float inset = STROKE_WIDTH + POINTER_RADIUS + HALO_BORDER_WIDTH * 1.5f;
+		assertEquals(100f - inset, radii[0], 0f);
+		assertEquals(50f - inset, radii[1], 0f);
+	}
+
+	/**
+	 * The arithmetic of {@code recalculateAll()} after a measure: the circle radii, the arc length, the touch radii,
+	 * the tick marks, and the pointer angle and position. The {@code Path} and {@code RectF} calls are Android-only.
+	 */
+	private float recalculateAllGeometry(int width, double progress) {
+		measure(width, width, mRadii);
+		float totalDegrees = CircularSeekBarGeometry.totalDegrees(START_ANGLE, END_ANGLE);
+		CircularSeekBarGeometry.touchRadiiSquared(mRadii[0], mRadii[1], STROKE_WIDTH, 96f, mTouchRadiiSquared);
+		int tickMarkCount = CircularSeekBarGeometry.tickMarkCount(totalDegrees, TICK_COUNT);
+		CircularSeekBarGeometry.tickMarks(START_ANGLE, totalDegrees, TICK_COUNT, tickMarkCount, mRadii[0], mRadii[1],
+				STROKE_WIDTH / 2f, 0f, 0f, mTickLines);
+		float pointerPosition = CircularSeekBarGeometry.angleForProgress(progress, 100, START_ANGLE, totalDegrees);
+		float progressDegrees = CircularSeekBarGeometry.clockwiseDistance(START_ANGLE, pointerPosition);
+		CircularSeekBarGeometry.arcEndPoint(START_ANGLE, progressDegrees, mRadii[0], mRadii[1], mPointerPositionXY);
+		return mPointerPositionXY[0] + mTickLines[0] + mTouchRadiiSquared[1];
+	}
+
+	@Test
+	public void recalculateAllGeometryDoesNotAllocate() {
+		java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+		assumeTrue(allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled());
+		long threadId = Thread.currentThread().getId();
+
+		float sum = 0f;
+		for (int i = 0; i < ITERATIONS; i++) {
+			sum += recalculateAllGeometry(400 + (i & 63), i % 100);
+		}
+		long allocatedBefore = allocationBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < ITERATIONS; i++) {
+			sum += recalculateAllGeometry(400 + (i & 63), i % 100);
+		}
+		long allocated = allocationBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+		// Allocating even one small object per call would be hundreds of kilobytes; allow for the measurement itself
+		assertTrue("Allocated " + allocated + " bytes", allocated < 1024);
+		assertFalse(Float.isNaN(sum));
+	}
+}
@@ -27,20 +27,34 @@
 
 package com.devadvance.circularseekbar;
 
+import java.util.Arrays;
+
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.BlurMaskFilter;
 import android.graphics.Canvas;
 import android.graphics.Color;
+import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Path;
-import android.graphics.PathMeasure;
+import android.graphics.Rect;
 import android.graphics.RectF;
-import android.os.Bundle;
+import android.graphics.SweepGradient;
+import android.os.Build;
+import android.os.Parcel;
 import android.os.Parcelable;
+import android.os.SystemClock;
+import android.os.Trace;
 import android.util.AttributeSet;
+import android.view.HapticFeedbackConstants;
 import android.view.MotionEvent;
+import android.view.VelocityTracker;
 import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.Interpolator;
+import android.widget.OverScroller;
 
 public class CircularSeekBar extends View {
 
@@ -54,6 +68,87 @@ public class CircularSeekBar extends View {
 	 */
 	protected final float MIN_TOUCH_TARGET_DP = 48;
 
+	/**
+	 * No glow is drawn around the progress. This is the cheapest option.
+	 */
+	public static final int GLOW_STYLE_NONE = 0;
+
+	/**
+	 * The glow is blurred once into a cached {@code Bitmap} covering the whole circle,
+	 * which is then clipped to the progress arc when drawing.
+	 */
+	public static final int GLOW_STYLE_SPRITE = 1;
+
+	/**
+	 * The glow is drawn as a few wider, translucent strokes below the progress.
+	 * Does not use a {@code BlurMaskFilter}, so it works with hardware acceleration.
+	 */
+	public static final int GLOW_STYLE_LAYERED = 2;
+
+	/**
+	 * Number of strokes drawn for {@code GLOW_STYLE_LAYERED}.
+	 */
+	protected static final int GLOW_LAYER_COUNT = 3;
+
+	/**
+	 * Default interpolator for animated progress changes. It has no state, so all instances share it.
+	 */
+	protected static final Interpolator DEFAULT_PROGRESS_INTERPOLATOR = new AccelerateDecelerateInterpolator();
+
+	/**
+	 * The pointer that represents the progress. In range mode this is the end of the range.
+	 */
+	public static final int THUMB_PROGRESS = 0;
+
+	/**
+	 * The pointer that represents the start of the range. Only used in range mode.
+	 */
+	public static final int THUMB_RANGE_START = 1;
+
+	/**
+	 * Number of pointers that can be moved by the user.
+	 */
+	protected static final int THUMB_COUNT = 2;
+
+	/**
+	 * Pointer ID used when no finger is moving a pointer.
+	 */
+	protected static final int INVALID_POINTER_ID = -1;
+
+	/**
+	 * Result of a touch down that did not touch the circle or a pointer.
+	 */
+	protected static final int TOUCH_MISSED = 0;
+
+	/**
+	 * Result of a touch down on a pointer.
+	 */
+	protected static final int TOUCH_ON_POINTER = 1;
+
+	/**
+	 * Result of a touch down on the circle, away from a pointer.
+	 */
+	protected static final int TOUCH_ON_CIRCLE = 2;
+
+	/**
+	 * Names of the trace sections, shown in system traces (systrace / Perfetto).
+	 */
+	protected static final String TRACE_ON_MEASURE = "CircularSeekBar.onMeasure";
+	protected static final String TRACE_ON_DRAW = "CircularSeekBar.onDraw";
+	protected static final String TRACE_ON_TOUCH_EVENT = "CircularSeekBar.onTouchEvent";
+	protected static final String TRACE_RECALCULATE_ALL = "CircularSeekBar.recalculateAll";
+	protected static final String TRACE_LISTENER = "CircularSeekBar.listener";
+
+	/**
+	 * True if trace sections are emitted. Shared by all instances; see {@link #setTraceEnabled(boolean)}.
+	 */
+	protected static boolean sTraceEnabled = false;
+
+	/**
+	 * Scale from degrees to the integer units used by the fling {@code OverScroller}.
+	 */
+	protected static final float FLING_UNITS_PER_DEGREE = 100f;
+
 	// Default values
 	protected static final float DEFAULT_CIRCLE_X_RADIUS = 30f;
 	protected static final float DEFAULT_CIRCLE_Y_RADIUS = 30f;
@@ -71,12 +166,26 @@ public class CircularSeekBar extends View {
 	protected static final int DEFAULT_POINTER_HALO_COLOR = Color.argb(135, 74, 138, 255);
 	protected static final int DEFAULT_POINTER_HALO_COLOR_ONTOUCH = Color.argb(135, 74, 138, 255);
 	protected static final int DEFAULT_CIRCLE_FILL_COLOR = Color.TRANSPARENT;
+	protected static final int DEFAULT_TICK_COLOR = Color.LTGRAY;
 	protected static final int DEFAULT_POINTER_ALPHA = 135;
 	protected static final int DEFAULT_POINTER_ALPHA_ONTOUCH = 100;
 	protected static final boolean DEFAULT_USE_CUSTOM_RADII = false;
 	protected static final boolean DEFAULT_MAINTAIN_EQUAL_CIRCLE = true;
 	protected static final boolean DEFAULT_MOVE_OUTSIDE_CIRCLE = false;
 	protected static final boolean DEFAULT_LOCK_ENABLED = true;
+	protected static final boolean DEFAULT_BACKGROUND_CACHE_ENABLED = false;
+	protected static final float DEFAULT_GLOW_RADIUS = 5f;
+	protected static final boolean DEFAULT_PROGRESS_COALESCING_ENABLED = false;
+	protected static final float DEFAULT_PROGRESS_STEP = 0f;
+	protected static final boolean DEFAULT_RANGE_ENABLED = false;
+	protected static final boolean DEFAULT_FLING_ENABLED = false;
+	protected static final int DEFAULT_PROGRESS_ANIMATION_DURATION = 300;
+	protected static final int DEFAULT_TICK_COUNT = 0;
+	protected static final boolean DEFAULT_TICK_MARKS_ENABLED = false;
+	protected static final boolean DEFAULT_TICK_HAPTIC_FEEDBACK_ENABLED = true;
+	protected static final boolean DEFAULT_GAUGE_MODE = false;
+	// BlurMaskFilter is ignored with hardware acceleration before API 28, so most users never saw a glow
+	protected static final int DEFAULT_GLOW_STYLE = GLOW_STYLE_NONE;
 
 	/**
 	 * {@code Paint} instance used to draw the inactive circle.
@@ -95,9 +204,16 @@ public class CircularSeekBar extends View {
 
 	/**
 	 * {@code Paint} instance used to draw the glow from the active circle.
+	 * Only has a {@code BlurMaskFilter} for {@code GLOW_STYLE_SPRITE}, where it is used to draw the cached glow.
 	 */
 	protected Paint mCircleProgressGlowPaint;
 
+	/**
+	 * {@code Paint} instances used to draw the translucent strokes for {@code GLOW_STYLE_LAYERED}.
+	 * Ordered from the widest to the narrowest stroke.
+	 */
+	protected Paint[] mCircleProgressGlowLayerPaints;
+
 	/**
 	 * {@code Paint} instance used to draw the center of the pointer.
 	 * Note: This is broken on 4.0+, as BlurMasks do not work with hardware acceleration.
@@ -110,11 +226,28 @@ public class CircularSeekBar extends View {
 	 */
 	protected Paint mPointerHaloPaint;
 
+	/**
+	 * True if {@code mPointerHaloPaint} belongs to this instance, false if it is the paint of a shared style.
+	 * The halo changes while the pointer is touched, so a shared halo paint is copied the first time it is touched.
+	 */
+	protected boolean mOwnsPointerHaloPaint;
+
 	/**
 	 * {@code Paint} instance used to draw the border of the pointer, outside of the halo.
 	 */
 	protected Paint mPointerHaloBorderPaint;
 
+	/**
+	 * {@code Paint} instance used to draw the tick marks.
+	 */
+	protected Paint mTickPaint;
+
+	/**
+	 * The shared style whose {@code Paint} objects are in use, or null if this instance owns its {@code Paint} objects.
+	 * Cleared (after copying the {@code Paint} objects) as soon as a setter changes one of them.
+	 */
+	protected CircularSeekBarStyle mStyle;
+
 	/**
 	 * The width of the circle (in pixels).
 	 */
@@ -218,23 +351,43 @@ public class CircularSeekBar extends View {
 	/**
 	 * {@code Path} used to draw the circle/semi-circle.
 	 */
-	protected Path mCirclePath;
+	protected Path mCirclePath = new Path();
 
 	/**
 	 * {@code Path} used to draw the progress on the circle.
 	 */
-	protected Path mCircleProgressPath;
+	protected Path mCircleProgressPath = new Path();
 
 	/**
 	 * Max value that this CircularSeekBar is representing.
+	 * This is {@code mPreciseMax} rounded to the nearest integer, clamped to the {@code int} range.
 	 */
 	protected int mMax;
 
 	/**
 	 * Progress value that this CircularSeekBar is representing.
+	 * This is {@code mPreciseProgress} rounded to the nearest integer, clamped to the {@code int} range.
 	 */
 	protected int mProgress;
 
+	/**
+	 * High resolution max value that this CircularSeekBar is representing.
+	 * Equal to {@code mMax} unless set with {@link #setPreciseMax(double)}.
+	 */
+	protected double mPreciseMax;
+
+	/**
+	 * High resolution progress value that this CircularSeekBar is representing.
+	 * The pointer position is calculated from this value, not from {@code mProgress}.
+	 */
+	protected double mPreciseProgress;
+
+	/**
+	 * Step that progress set by the user is snapped to, in the units of {@code mPreciseMax}.
+	 * Zero means the progress is continuous.
+	 */
+	protected double mProgressStep = DEFAULT_PROGRESS_STEP;
+
 	/**
 	 * If true, then the user can specify the X and Y radii.
 	 * If false, then the View itself determines the size of the CircularSeekBar.
@@ -259,18 +412,6 @@ public class CircularSeekBar extends View {
 	 */
 	protected boolean lockEnabled = true;
 
-	/**
-	 * Used for when the user moves beyond the start of the circle when moving counter clockwise.
-	 * Makes it easier to hit the 0 progress mark.
-	 */
-	protected boolean lockAtStart = true;
-
-	/**
-	 * Used for when the user moves beyond the end of the circle when moving clockwise.
-	 * Makes it easier to hit the 100% (max) progress mark.
-	 */
-	protected boolean lockAtEnd = false;
-
 	/**
 	 * When the user is touching the circle on ACTION_DOWN, this is set to true.
 	 * Used when touching the CircularSeekBar.
@@ -303,12 +444,6 @@ public class CircularSeekBar extends View {
 	@SuppressWarnings("unused")
 	protected float ccwDistanceFromEnd;
 
-	/**
-	 * The previous touch action value for {@code cwDistanceFromStart}.
-	 * Used when touching the CircularSeekBar.
-	 */
-	protected float lastCWDistanceFromStart;
-
 	/**
 	 * Represents the clockwise distance from {@code mPointerPosition} to the touch angle.
 	 * Used when touching the CircularSeekBar.
@@ -322,10 +457,20 @@ public class CircularSeekBar extends View {
 	protected float ccwDistanceFromPointer;
 
 	/**
-	 * True if the user is moving clockwise around the circle, false if moving counter-clockwise.
+	 * Squared distance from the center of the circle to the current touch sample.
 	 * Used when touching the CircularSeekBar.
 	 */
-	protected boolean mIsMovingCW;
+	protected float mTouchEventRadiusSquared;
+
+	/**
+	 * Scratch array for the touch radii and distances from {@code CircularSeekBarGeometry}, so touches don't allocate.
+	 */
+	protected final float[] mTouchScratch = new float[3];
+
+	/**
+	 * Scratch array for the circle radii calculated in {@code handleMeasure()}, so measuring doesn't allocate.
+	 */
+	protected final float[] mCircleRadii = new float[2];
 
 	/**
 	 * The width of the circle used in the {@code RectF} that is used to draw it.
@@ -351,482 +496,2341 @@ public class CircularSeekBar extends View {
 	protected float[] mPointerPositionXY = new float[2];
 
 	/**
-	 * Listener.
+	 * If true, a second pointer marks the start of the range and the progress arc is drawn
+	 * from that pointer to the progress pointer (the end of the range).
 	 */
-	protected OnCircularSeekBarChangeListener mOnCircularSeekBarChangeListener;
+	protected boolean mRangeEnabled = DEFAULT_RANGE_ENABLED;
 
 	/**
-	 * True if user touch input is enabled, false if user touch input is ignored.
-	 * This does not affect setting values programmatically.
+	 * High resolution progress value of the start of the range. Never greater than {@code mPreciseProgress}.
 	 */
-	protected boolean isTouchEnabled = true;
+	protected double mRangeStartProgress;
 
 	/**
-	 * Initialize the CircularSeekBar with the attributes from the XML style.
-	 * Uses the defaults defined at the top of this file when an attribute is not specified by the user.
-	 * @param attrArray TypedArray containing the attributes.
+	 * Distance (in degrees) from {@code mStartAngle} to the start of the range.
 	 */
-	protected void initAttributes(TypedArray attrArray) {
-		mCircleXRadius = attrArray.getDimension(R.styleable.CircularSeekBar_circle_x_radius, DEFAULT_CIRCLE_X_RADIUS * DPTOPX_SCALE);
-		mCircleYRadius = attrArray.getDimension(R.styleable.CircularSeekBar_circle_y_radius, DEFAULT_CIRCLE_Y_RADIUS * DPTOPX_SCALE);
-		mPointerRadius = attrArray.getDimension(R.styleable.CircularSeekBar_pointer_radius, DEFAULT_POINTER_RADIUS * DPTOPX_SCALE);
-		mPointerHaloWidth = attrArray.getDimension(R.styleable.CircularSeekBar_pointer_halo_width, DEFAULT_POINTER_HALO_WIDTH * DPTOPX_SCALE);
-		mPointerHaloBorderWidth = attrArray.getDimension(R.styleable.CircularSeekBar_pointer_halo_border_width, DEFAULT_POINTER_HALO_BORDER_WIDTH * DPTOPX_SCALE);
-		mCircleStrokeWidth = attrArray.getDimension(R.styleable.CircularSeekBar_circle_stroke_width, DEFAULT_CIRCLE_STROKE_WIDTH * DPTOPX_SCALE);
+	protected float mRangeStartDegrees;
 
-		mPointerColor = attrArray.getColor(R.styleable.CircularSeekBar_pointer_color, DEFAULT_POINTER_COLOR);
-		mPointerHaloColor = attrArray.getColor(R.styleable.CircularSeekBar_pointer_halo_color, DEFAULT_POINTER_HALO_COLOR);
-		mPointerHaloColorOnTouch = attrArray.getColor(R.styleable.CircularSeekBar_pointer_halo_color_ontouch, DEFAULT_POINTER_HALO_COLOR_ONTOUCH);
-		mCircleColor = attrArray.getColor(R.styleable.CircularSeekBar_circle_color, DEFAULT_CIRCLE_COLOR);
-		mCircleProgressColor = attrArray.getColor(R.styleable.CircularSeekBar_circle_progress_color, DEFAULT_CIRCLE_PROGRESS_COLOR);
-		mCircleFillColor = attrArray.getColor(R.styleable.CircularSeekBar_circle_fill, DEFAULT_CIRCLE_FILL_COLOR);
+	/**
+	 * Position of the range start pointer on the circle, in geometric degrees.
+	 */
+	protected float mRangeStartPointerPosition;
 
-		mPointerAlpha = Color.alpha(mPointerHaloColor);
+	/**
+	 * Range start pointer position in terms of X and Y coordinates.
+	 * Created the first time range mode is used.
+	 */
+	protected float[] mRangeStartPointerPositionXY;
 
-		mPointerAlphaOnTouch = attrArray.getInt(R.styleable.CircularSeekBar_pointer_alpha_ontouch, DEFAULT_POINTER_ALPHA_ONTOUCH);
-		if (mPointerAlphaOnTouch > 255 || mPointerAlphaOnTouch < 0) {
-			mPointerAlphaOnTouch = DEFAULT_POINTER_ALPHA_ONTOUCH;
-		}
+	/**
+	 * The pointer that the user is moving. One of {@code THUMB_PROGRESS} or {@code THUMB_RANGE_START}.
+	 * Used when touching the CircularSeekBar.
+	 */
+	protected int mActiveThumb = THUMB_PROGRESS;
 
-		mMax = attrArray.getInt(R.styleable.CircularSeekBar_max, DEFAULT_MAX);
-		mProgress = attrArray.getInt(R.styleable.CircularSeekBar_progress, DEFAULT_PROGRESS);
-		mCustomRadii = attrArray.getBoolean(R.styleable.CircularSeekBar_use_custom_radii, DEFAULT_USE_CUSTOM_RADII);
-		mMaintainEqualCircle = attrArray.getBoolean(R.styleable.CircularSeekBar_maintain_equal_circle, DEFAULT_MAINTAIN_EQUAL_CIRCLE);
-		mMoveOutsideCircle = attrArray.getBoolean(R.styleable.CircularSeekBar_move_outside_circle, DEFAULT_MOVE_OUTSIDE_CIRCLE);
-		lockEnabled = attrArray.getBoolean(R.styleable.CircularSeekBar_lock_enabled, DEFAULT_LOCK_ENABLED);
+	/**
+	 * The ID of the finger moving each pointer, indexed by thumb, or {@code INVALID_POINTER_ID}.
+	 * Used when touching the CircularSeekBar.
+	 */
+	protected int[] mThumbPointerIds = { INVALID_POINTER_ID, INVALID_POINTER_ID };
 
-		// Modulo 360 right now to avoid constant conversion
-		mStartAngle = ((360f + (attrArray.getFloat((R.styleable.CircularSeekBar_start_angle), DEFAULT_START_ANGLE) % 360f)) % 360f);
-		mEndAngle = ((360f + (attrArray.getFloat((R.styleable.CircularSeekBar_end_angle), DEFAULT_END_ANGLE) % 360f)) % 360f);
+	/**
+	 * The drag direction and lock state of each pointer, indexed by thumb, so each finger has its own lock state.
+	 * Used when touching the CircularSeekBar. Each one is created the first time its pointer is touched.
+	 */
+	protected CircularSeekBarGesture[] mThumbGestures = new CircularSeekBarGesture[THUMB_COUNT];
 
-		if (mStartAngle == mEndAngle) {
-			//mStartAngle = mStartAngle + 1f;
-			mEndAngle = mEndAngle - .1f;
-		}
-	}
+	/**
+	 * If true, the progress pointer keeps rotating with decreasing speed after the user releases it.
+	 */
+	protected boolean mFlingEnabled = DEFAULT_FLING_ENABLED;
 
 	/**
-	 * Initializes the {@code Paint} objects with the appropriate styles.
+	 * Tracks the touch velocity for flinging. Created once and reused for every gesture.
 	 */
-	protected void initPaints() {
-		mCirclePaint = new Paint();
-		mCirclePaint.setAntiAlias(true);
-		mCirclePaint.setDither(true);
-		mCirclePaint.setColor(mCircleColor);
-		mCirclePaint.setStrokeWidth(mCircleStrokeWidth);
-		mCirclePaint.setStyle(Paint.Style.STROKE);
-		mCirclePaint.setStrokeJoin(Paint.Join.ROUND);
-		mCirclePaint.setStrokeCap(Paint.Cap.ROUND);
-
-		mCircleFillPaint = new Paint();
-		mCircleFillPaint.setAntiAlias(true);
-		mCircleFillPaint.setDither(true);
-		mCircleFillPaint.setColor(mCircleFillColor);
-		mCircleFillPaint.setStyle(Paint.Style.FILL);
+	protected VelocityTracker mVelocityTracker;
 
-		mCircleProgressPaint = new Paint();
-		mCircleProgressPaint.setAntiAlias(true);
-		mCircleProgressPaint.setDither(true);
-		mCircleProgressPaint.setColor(mCircleProgressColor);
-		mCircleProgressPaint.setStrokeWidth(mCircleStrokeWidth);
-		mCircleProgressPaint.setStyle(Paint.Style.STROKE);
-		mCircleProgressPaint.setStrokeJoin(Paint.Join.ROUND);
-		mCircleProgressPaint.setStrokeCap(Paint.Cap.ROUND);
+	/**
+	 * Animates the fling, in units of {@code FLING_UNITS_PER_DEGREE} per degree from {@code mStartAngle}.
+	 * Created once and reused for every fling.
+	 */
+	protected OverScroller mFlingScroller;
 
-		mCircleProgressGlowPaint = new Paint();
-		mCircleProgressGlowPaint.set(mCircleProgressPaint);
-		mCircleProgressGlowPaint.setMaskFilter(new BlurMaskFilter((5f * DPTOPX_SCALE), BlurMaskFilter.Blur.NORMAL));
+	/**
+	 * True if the user lifted the finger and started a fling, so {@code onStopTrackingTouch} is sent
+	 * when the fling ends instead, with the final value.
+	 */
+	protected boolean mStopTrackingTouchPending;
 
-		mPointerPaint = new Paint();
-		mPointerPaint.setAntiAlias(true);
-		mPointerPaint.setDither(true);
-		mPointerPaint.setStyle(Paint.Style.FILL);
-		mPointerPaint.setColor(mPointerColor);
-		mPointerPaint.setStrokeWidth(mPointerRadius);
+	/**
+	 * X and Y coordinates (relative to the center) of the last touch sample that moved the progress pointer.
+	 * Used to convert the touch velocity into an angular velocity when flinging. Created the first time it is needed.
+	 */
+	protected float[] mLastProgressTouchXY;
 
-		mPointerHaloPaint = new Paint();
-		mPointerHaloPaint.set(mPointerPaint);
-		mPointerHaloPaint.setColor(mPointerHaloColor);
-		mPointerHaloPaint.setAlpha(mPointerAlpha);
-		mPointerHaloPaint.setStrokeWidth(mPointerRadius + mPointerHaloWidth);
+	/**
+	 * Duration of animated progress changes, in milliseconds.
+	 */
+	protected int mProgressAnimationDuration = DEFAULT_PROGRESS_ANIMATION_DURATION;
 
-		mPointerHaloBorderPaint = new Paint();
-		mPointerHaloBorderPaint.set(mPointerPaint);
-		mPointerHaloBorderPaint.setStrokeWidth(mPointerHaloBorderWidth);
-		mPointerHaloBorderPaint.setStyle(Paint.Style.STROKE);
+	/**
+	 * Interpolator for animated progress changes.
+	 */
+	protected Interpolator mProgressInterpolator = DEFAULT_PROGRESS_INTERPOLATOR;
 
-	}
+	/**
+	 * True while an animated progress change is running.
+	 */
+	protected boolean mProgressAnimationRunning = false;
 
 	/**
-	 * Calculates the total degrees between mStartAngle and mEndAngle, and sets mTotalCircleDegrees
-	 * to this value.
+	 * Uptime (in milliseconds) at which the running progress animation started.
 	 */
-	protected void calculateTotalDegrees() {
-		mTotalCircleDegrees = (360f - (mStartAngle - mEndAngle)) % 360f; // Length of the entire circle/arc
-		if (mTotalCircleDegrees <= 0f) {
-			mTotalCircleDegrees = 360f;
-		}
-	}
+	protected long mProgressAnimationStartTime;
 
 	/**
-	 * Calculate the degrees that the progress represents. Also called the sweep angle.
-	 * Sets mProgressDegrees to that value.
+	 * High resolution progress that the running progress animation started from.
 	 */
-	protected void calculateProgressDegrees() {
-		mProgressDegrees = mPointerPosition - mStartAngle; // Verified
-		mProgressDegrees = (mProgressDegrees < 0 ? 360f + mProgressDegrees : mProgressDegrees); // Verified
-	}
+	protected double mProgressAnimationFrom;
 
 	/**
-	 * Calculate the pointer position (and the end of the progress arc) in degrees.
-	 * Sets mPointerPosition to that value.
+	 * High resolution progress that the running progress animation ends at.
 	 */
-	protected void calculatePointerAngle() {
-		float progressPercent = ((float)mProgress / (float)mMax);
-		mPointerPosition = (progressPercent * mTotalCircleDegrees) + mStartAngle;
-		mPointerPosition = mPointerPosition % 360f;
-	}
+	protected double mProgressAnimationTo;
 
-	protected void calculatePointerXYPosition() {
-		PathMeasure pm = new PathMeasure(mCircleProgressPath, false);
-		boolean returnValue = pm.getPosTan(pm.getLength(), mPointerPositionXY, null);
-		if (!returnValue) {
-			pm = new PathMeasure(mCirclePath, false);
-			returnValue = pm.getPosTan(0, mPointerPositionXY, null);
-		}
-	}
+	/**
+	 * Number of equal steps the circle is divided into when snapping to ticks, or zero to disable snapping.
+	 * There is a tick at both ends, so there are {@code mTickCount + 1} ticks (one less on a full circle).
+	 */
+	protected int mTickCount = DEFAULT_TICK_COUNT;
 
 	/**
-	 * Initialize the {@code Path} objects with the appropriate values.
+	 * If true, the tick marks are drawn across the circle.
 	 */
-	protected void initPaths() {
-		mCirclePath = new Path();
-		mCirclePath.addArc(mCircleRectF, mStartAngle, mTotalCircleDegrees);
+	protected boolean mTickMarksEnabled = DEFAULT_TICK_MARKS_ENABLED;
 
-		mCircleProgressPath = new Path();
-		mCircleProgressPath.addArc(mCircleRectF, mStartAngle, mProgressDegrees);
-	}
+	/**
+	 * If true, haptic feedback is performed each time the user moves a pointer to another tick.
+	 */
+	protected boolean mTickHapticFeedbackEnabled = DEFAULT_TICK_HAPTIC_FEEDBACK_ENABLED;
 
 	/**
-	 * Initialize the {@code RectF} objects with the appropriate values.
+	 * Color of the tick marks.
 	 */
-	protected void initRects() {
-		mCircleRectF.set(-mCircleWidth, -mCircleHeight, mCircleWidth, mCircleHeight);
-	}
+	protected int mTickColor = DEFAULT_TICK_COLOR;
 
-	@Override
-	protected void onDraw(Canvas canvas) {
-		super.onDraw(canvas);
+	/**
+	 * Start and end coordinates of each tick mark, relative to the center, ready for {@code Canvas.drawLines}.
+	 * Calculated with the rest of the layout geometry and only reallocated if it is too small.
+	 */
+	protected float[] mTickLines;
 
-		canvas.translate(this.getWidth() / 2, this.getHeight() / 2);
+	/**
+	 * Number of tick marks in {@code mTickLines}.
+	 */
+	protected int mTickLineCount;
 
-		canvas.drawPath(mCirclePath, mCirclePaint);
-		canvas.drawPath(mCircleProgressPath, mCircleProgressGlowPaint);
-		canvas.drawPath(mCircleProgressPath, mCircleProgressPaint);
+	/**
+	 * Colors of the progress gradient, or null to draw the progress with {@code mCircleProgressColor}.
+	 */
+	protected int[] mProgressGradientColors;
 
-		canvas.drawPath(mCirclePath, mCircleFillPaint);
+	/**
+	 * Positions of {@code mProgressGradientColors} as fractions (0 to 1) of the circle from the start angle,
+	 * or null to space the colors evenly.
+	 */
+	protected float[] mProgressGradientPositions;
 
-		canvas.drawCircle(mPointerPositionXY[0], mPointerPositionXY[1], mPointerRadius + mPointerHaloWidth, mPointerHaloPaint);
-		canvas.drawCircle(mPointerPositionXY[0], mPointerPositionXY[1], mPointerRadius, mPointerPaint);
-		if (mUserIsMovingPointer) {
-			canvas.drawCircle(mPointerPositionXY[0], mPointerPositionXY[1], mPointerRadius + mPointerHaloWidth + (mPointerHaloBorderWidth / 2f), mPointerHaloBorderPaint);
-		}
-	}
+	/**
+	 * Cached shader for the progress gradient. Only rebuilt when the gradient or the layout changes.
+	 */
+	protected SweepGradient mProgressShader;
 
 	/**
-	 * Get the progress of the CircularSeekBar.
-	 * @return The progress of the CircularSeekBar.
+	 * Rotates {@code mProgressShader} so that its start is at the start angle. Created with the first gradient.
 	 */
-	public int getProgress() {
-		int progress = Math.round((float)mMax * mProgressDegrees / mTotalCircleDegrees);
-		return progress;
-	}
+	protected Matrix mProgressShaderMatrix;
 
 	/**
-	 * Set the progress of the CircularSeekBar.
-	 * If the progress is the same, then any listener will not receive a onProgressChanged event.
-	 * @param progress The progress to set the CircularSeekBar to.
+	 * True if {@code mProgressShader} needs to be rebuilt before the next draw.
 	 */
-	public void setProgress(int progress) {
-		if (mProgress != progress) {
-			mProgress = progress;
-			if (mOnCircularSeekBarChangeListener != null) {
-				mOnCircularSeekBarChangeListener.onProgressChanged(this, progress, false);
-			}
+	protected boolean mProgressShaderDirty = true;
 
-			recalculateAll();
-			invalidate();
-		}
-	}
+	/**
+	 * Index of the tick each pointer was last at, used to perform haptic feedback once per tick.
+	 * Created the first time there are ticks.
+	 */
+	protected int[] mThumbTickIndex;
 
-	protected void setProgressBasedOnAngle(float angle) {
-		mPointerPosition = angle;
-		calculateProgressDegrees();
-		mProgress = Math.round((float)mMax * mProgressDegrees / mTotalCircleDegrees);
-	}
+	/**
+	 * Advances the progress animation by one frame. Posted with {@code postOnAnimation} while it is running.
+	 * Created with the first animation.
+	 */
+	protected Runnable mProgressAnimationRunnable;
 
-	protected void recalculateAll() {
-		calculateTotalDegrees();
-		calculatePointerAngle();
-		calculateProgressDegrees();
+	/**
+	 * Advances the fling by one frame. Posted with {@code postOnAnimation} while a fling is running.
+	 * Created with the first fling.
+	 */
+	protected Runnable mFlingRunnable;
 
-		initRects();
+	/**
+	 * Listener.
+	 */
+	protected OnCircularSeekBarChangeListener mOnCircularSeekBarChangeListener;
 
-		initPaths();
+	/**
+	 * Listener for high resolution progress changes.
+	 */
+	protected OnCircularSeekBarPreciseChangeListener mOnCircularSeekBarPreciseChangeListener;
 
-		calculatePointerXYPosition();
-	}
+	/**
+	 * Listener for range changes in range mode.
+	 */
+	protected OnCircularSeekBarRangeChangeListener mOnCircularSeekBarRangeChangeListener;
 
-	@Override
-	protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
-		int height = getDefaultSize(getSuggestedMinimumHeight(), heightMeasureSpec);
-		int width = getDefaultSize(getSuggestedMinimumWidth(), widthMeasureSpec);
-		if (mMaintainEqualCircle) {
-			int min = Math.min(width, height);
-			setMeasuredDimension(min, min);
-		} else {
-			setMeasuredDimension(width, height);
-		}
+	/**
+	 * True if user touch input is enabled, false if user touch input is ignored.
+	 * This does not affect setting values programmatically.
+	 */
+	protected boolean isTouchEnabled = true;
 
-		// Set the circle width and height based on the view for the moment
-		mCircleHeight = (float)height / 2f - mCircleStrokeWidth - mPointerRadius - (mPointerHaloBorderWidth * 1.5f);
-		mCircleWidth = (float)width / 2f - mCircleStrokeWidth - mPointerRadius - (mPointerHaloBorderWidth * 1.5f);
+	/**
+	 * True if the CircularSeekBar is a read-only gauge: touch input is ignored, no pointer is drawn,
+	 * the pointer {@code Paint} instances are not created, and progress changes are redrawn at most once per frame.
+	 */
+	protected boolean mGaugeMode = DEFAULT_GAUGE_MODE;
 
-		// If it is not set to use custom
-		if (mCustomRadii) {
-			// Check to make sure the custom radii are not out of the view. If they are, just use the view values
-			if ((mCircleYRadius - mCircleStrokeWidth - mPointerRadius - mPointerHaloBorderWidth) < mCircleHeight) {
-				mCircleHeight = mCircleYRadius - mCircleStrokeWidth - mPointerRadius - (mPointerHaloBorderWidth * 1.5f);
-			}
+	/**
+	 * True if a progress change is waiting for {@code mProgressUpdateRunnable} in gauge mode.
+	 */
+	protected boolean mProgressUpdatePending = false;
 
-			if ((mCircleXRadius - mCircleStrokeWidth - mPointerRadius - mPointerHaloBorderWidth) < mCircleWidth) {
-				mCircleWidth = mCircleXRadius - mCircleStrokeWidth - mPointerRadius - (mPointerHaloBorderWidth * 1.5f);
+	/**
+	 * Recalculates and redraws the progress once per frame in gauge mode.
+	 */
+	protected final Runnable mProgressUpdateRunnable = new Runnable() {
+		@Override
+		public void run() {
+			if (mProgressUpdatePending) {
+				mProgressUpdatePending = false;
+				recalculateProgress();
+				invalidateProgress();
 			}
 		}
+	};
 
-		if (mMaintainEqualCircle) { // Applies regardless of how the values were determined
-			float min = Math.min(mCircleHeight, mCircleWidth);
-			mCircleHeight = min;
-			mCircleWidth = min;
-		}
+	/**
+	 * Performance metrics, or null if they are disabled (the default).
+	 */
+	protected CircularSeekBarMetrics mMetrics;
 
-		recalculateAll();
-	}
+	/**
+	 * True if the layout-level geometry (total degrees, {@code mCircleRectF} and {@code mCirclePath})
+	 * needs to be recalculated before the progress-level geometry.
+	 * Set by {@link #recalculateAll()}, cleared by {@link #recalculateProgress()}.
+	 */
+	protected boolean mGeometryDirty = true;
 
 	/**
-	 * Get whether the pointer locks at zero and max.
-	 * @return Boolean value of true if the pointer locks at zero and max, false if it does not.
+	 * Square of the min inner radius of the circle that accepts touches, including the
+	 * minimum touch target or wheel width. Calculated with the layout, used when touching the CircularSeekBar.
 	 */
-	public boolean isLockEnabled() {
-		return lockEnabled;
-	}
+	protected float mTouchInnerRadiusSquared;
 
 	/**
-	 * Set whether the pointer locks at zero and max or not.
-	 * @param boolean value. True if the pointer should lock at zero and max, false if it should not.
+	 * Square of the max outer radius of the circle that accepts touches, including the
+	 * minimum touch target or wheel width. Calculated with the layout, used when touching the CircularSeekBar.
 	 */
-	public void setLockEnabled(boolean lockEnabled) {
-		this.lockEnabled = lockEnabled;
-	}
+	protected float mTouchOuterRadiusSquared;
 
-	@Override
-	public boolean onTouchEvent(MotionEvent event) {
-		if(!isTouchEnabled){
-			return false;
-		}
+	/**
+	 * If true, the circle and the circle fill are rasterized once into {@code mBackgroundBitmap}
+	 * and only the progress and the pointer are drawn dynamically.
+	 */
+	protected boolean mBackgroundCacheEnabled = DEFAULT_BACKGROUND_CACHE_ENABLED;
 
-		// Convert coordinates to our internal coordinate system
-		float x = event.getX() - getWidth() / 2;
-		float y = event.getY() - getHeight() / 2;
+	/**
+	 * {@code Bitmap} holding the rasterized circle and circle fill when the background cache is enabled.
+	 */
+	protected Bitmap mBackgroundBitmap;
 
-		// Get the distance from the center of the circle in terms of x and y
-		float distanceX = mCircleRectF.centerX() - x;
-		float distanceY = mCircleRectF.centerY() - y;
+	/**
+	 * {@code Canvas} used to draw into {@code mBackgroundBitmap}.
+	 */
+	protected Canvas mBackgroundCanvas;
+
+	/**
+	 * True if {@code mBackgroundBitmap} needs to be redrawn before it is used.
+	 */
+	protected boolean mBackgroundDirty = true;
+
+	/**
+	 * How the glow around the progress is drawn.
+	 * One of {@code GLOW_STYLE_NONE}, {@code GLOW_STYLE_SPRITE} or {@code GLOW_STYLE_LAYERED}.
+	 */
+	protected int mGlowStyle = DEFAULT_GLOW_STYLE;
+
+	/**
+	 * {@code Bitmap} holding the blurred glow of the whole circle for {@code GLOW_STYLE_SPRITE}.
+	 * Only the alpha is stored, the color comes from {@code mCircleProgressPaint} when drawing.
+	 */
+	protected Bitmap mGlowBitmap;
+
+	/**
+	 * {@code Canvas} used to draw into {@code mGlowBitmap}.
+	 */
+	protected Canvas mGlowCanvas;
+
+	/**
+	 * True if {@code mGlowBitmap} needs to be redrawn before it is used.
+	 */
+	protected boolean mGlowDirty = true;
+
+	/**
+	 * {@code Path} of the wedge covering the progress arc. Used to clip {@code mGlowBitmap}.
+	 * Created the first time the sprite glow is used.
+	 */
+	protected Path mGlowClipPath;
+
+	/**
+	 * {@code RectF} of the wedge covering the progress arc, large enough to contain the glow.
+	 * Created the first time the sprite glow is used.
+	 */
+	protected RectF mGlowClipRectF;
+
+	/**
+	 * True once the progress and pointer have been drawn with the current layout.
+	 * Until then, progress changes invalidate the whole View.
+	 */
+	protected boolean mHasDrawnProgress = false;
+
+	/**
+	 * The value of {@code mProgressDegrees} when the progress was last drawn.
+	 */
+	protected float mDrawnProgressDegrees;
+
+	/**
+	 * The value of {@code mPointerPositionXY} when the pointer was last drawn.
+	 */
+	protected float[] mDrawnPointerPositionXY = new float[2];
+
+	/**
+	 * The value of {@code mRangeStartDegrees} when the range start pointer was last drawn.
+	 */
+	protected float mDrawnRangeStartDegrees;
+
+	/**
+	 * The value of {@code mRangeStartPointerPositionXY} when the range start pointer was last drawn.
+	 * Created the first time it is drawn.
+	 */
+	protected float[] mDrawnRangeStartPointerPositionXY;
+
+	/**
+	 * Bounds (left, top, right, bottom) of the arc that changed, used for partial invalidation.
+	 */
+	protected float[] mDirtyArcBounds = new float[4];
+
+	/**
+	 * {@code RectF} of the area that needs to be redrawn after a progress change.
+	 */
+	protected RectF mDirtyRectF = new RectF();
+
+	/**
+	 * {@code Rect} of the area that needs to be redrawn after a progress change.
+	 */
+	protected Rect mDirtyRect = new Rect();
+
+	/**
+	 * If true, progress changes are delivered to the listener at most once per frame,
+	 * and only if the progress is different from the last value that was delivered.
+	 */
+	protected boolean mProgressCoalescingEnabled = DEFAULT_PROGRESS_COALESCING_ENABLED;
+
+	/**
+	 * True if a progress change is waiting to be delivered on the next frame.
+	 */
+	protected boolean mProgressDispatchPending = false;
+
+	/**
+	 * The progress value waiting to be delivered on the next frame.
+	 */
+	protected int mPendingProgress;
+
+	/**
+	 * Whether the progress value waiting to be delivered came from the user.
+	 */
+	protected boolean mPendingProgressFromUser;
+
+	/**
+	 * The last progress value delivered while coalescing. Starts out as a value that progress can never have.
+	 */
+	protected int mLastDispatchedProgress = Integer.MIN_VALUE;
+
+	/**
+	 * The high resolution progress value waiting to be delivered on the next frame.
+	 */
+	protected double mPendingPreciseProgress;
+
+	/**
+	 * The last high resolution progress value delivered while coalescing. Starts out as NaN so the first value is always delivered.
+	 */
+	protected double mLastDispatchedPreciseProgress = Double.NaN;
+
+	/**
+	 * True if a range change is waiting to be delivered on the next frame.
+	 */
+	protected boolean mPendingRangeChanged;
+
+	/**
+	 * The last range start delivered while coalescing.
+	 */
+	protected int mLastDispatchedRangeStart = Integer.MIN_VALUE;
+
+	/**
+	 * The last range end delivered while coalescing.
+	 */
+	protected int mLastDispatchedRangeEnd = Integer.MIN_VALUE;
+
+	/**
+	 * Delivers the pending progress change. Posted once per frame while coalescing.
+	 * Created the first time a change is coalesced.
+	 */
+	protected Runnable mProgressDispatchRunnable;
+
+	/**
+	 * Initialize the CircularSeekBar with the attributes from the XML style.
+	 * Uses the defaults defined at the top of this file when an attribute is not specified by the user.
+	 * @param attrArray TypedArray containing the attributes.
+	 */
+	protected void initAttributes(TypedArray attrArray) {
+		applyAttributes(new CircularSeekBarAttributes(attrArray, DPTOPX_SCALE));
+	}
+
+	/**
+	 * Set the fields from parsed attributes.
+	 * @param attributes The parsed attributes, possibly shared with other instances.
+	 */
+	protected void applyAttributes(CircularSeekBarAttributes attributes) {
+		mCircleXRadius = attributes.mCircleXRadius;
+		mCircleYRadius = attributes.mCircleYRadius;
+		mPointerRadius = attributes.mPointerRadius;
+		mPointerHaloWidth = attributes.mPointerHaloWidth;
+		mPointerHaloBorderWidth = attributes.mPointerHaloBorderWidth;
+		mCircleStrokeWidth = attributes.mCircleStrokeWidth;
+
+		mPointerColor = attributes.mPointerColor;
+		mPointerHaloColor = attributes.mPointerHaloColor;
+		mPointerHaloColorOnTouch = attributes.mPointerHaloColorOnTouch;
+		mCircleColor = attributes.mCircleColor;
+		mCircleProgressColor = attributes.mCircleProgressColor;
+		mCircleFillColor = attributes.mCircleFillColor;
+		mTickColor = attributes.mTickColor;
+
+		mPointerAlpha = attributes.mPointerAlpha;
+		mPointerAlphaOnTouch = attributes.mPointerAlphaOnTouch;
+
+		mMax = attributes.mMax;
+		mProgress = attributes.mProgress;
+		mPreciseMax = mMax;
+		mPreciseProgress = mProgress;
+		mProgressStep = attributes.mProgressStep;
+		mRangeEnabled = attributes.mRangeEnabled;
+		mFlingEnabled = attributes.mFlingEnabled;
+		mProgressAnimationDuration = attributes.mProgressAnimationDuration;
+		mTickCount = attributes.mTickCount;
+		mTickMarksEnabled = attributes.mTickMarksEnabled;
+		mTickHapticFeedbackEnabled = attributes.mTickHapticFeedbackEnabled;
+		mGaugeMode = attributes.mGaugeMode;
+		mRangeStartProgress = Math.max(0, Math.min(mProgress, attributes.mRangeStart));
+		mCustomRadii = attributes.mCustomRadii;
+		mMaintainEqualCircle = attributes.mMaintainEqualCircle;
+		mMoveOutsideCircle = attributes.mMoveOutsideCircle;
+		lockEnabled = attributes.mLockEnabled;
+		mBackgroundCacheEnabled = attributes.mBackgroundCacheEnabled;
+		mGlowStyle = attributes.mGlowStyle;
+		mProgressCoalescingEnabled = attributes.mProgressCoalescingEnabled;
+
+		mStartAngle = attributes.mStartAngle;
+		mEndAngle = attributes.mEndAngle;
+	}
+
+	/**
+	 * Initializes the {@code Paint} objects with the appropriate styles.
+	 */
+	protected void initPaints() {
+		mStyle = null;
+
+		mCirclePaint = CircularSeekBarStyle.createCirclePaint(mCircleColor, mCircleStrokeWidth);
+		mCircleFillPaint = CircularSeekBarStyle.createCircleFillPaint(mCircleFillColor);
+		mCircleProgressPaint = CircularSeekBarStyle.createCirclePaint(mCircleProgressColor, mCircleStrokeWidth);
+		mProgressShaderDirty = true;
+
+		initGlowPaints();
+
+		if (mGaugeMode) {
+			mPointerPaint = null;
+			mPointerHaloPaint = null;
+			mPointerHaloBorderPaint = null;
+		} else {
+			initPointerPaints();
+		}
+
+		mTickPaint = CircularSeekBarStyle.createTickPaint(mTickColor, mCircleStrokeWidth);
+
+		mBackgroundDirty = true;
+	}
+
+	/**
+	 * Replace the {@code Paint} objects of a shared style with copies owned by this instance,
+	 * so they can be changed without affecting the other instances. Does nothing if they are already owned.
+	 */
+	protected void ensureOwnPaints() {
+		if (mStyle == null) {
+			return;
+		}
+		mStyle = null;
+		mCirclePaint = new Paint(mCirclePaint);
+		mCircleFillPaint = new Paint(mCircleFillPaint);
+		mCircleProgressPaint = new Paint(mCircleProgressPaint);
+		mTickPaint = new Paint(mTickPaint);
+		if (mPointerPaint != null) {
+			mPointerPaint = new Paint(mPointerPaint);
+			if (!mOwnsPointerHaloPaint) {
+				mPointerHaloPaint = new Paint(mPointerHaloPaint);
+				mOwnsPointerHaloPaint = true;
+			}
+			mPointerHaloBorderPaint = new Paint(mPointerHaloBorderPaint);
+		}
+		initGlowPaints();
+	}
+
+	/**
+	 * Initializes the {@code Paint} objects used to draw the pointer. Not used in gauge mode.
+	 */
+	protected void initPointerPaints() {
+		mPointerPaint = CircularSeekBarStyle.createPointerPaint(mPointerColor, mPointerRadius);
+		mPointerHaloPaint = CircularSeekBarStyle.createPointerHaloPaint(mPointerPaint, mPointerHaloColor, mPointerAlpha, mPointerRadius + mPointerHaloWidth);
+		mOwnsPointerHaloPaint = true;
+		mPointerHaloBorderPaint = CircularSeekBarStyle.createPointerHaloBorderPaint(mPointerPaint, mPointerHaloBorderWidth);
+	}
+
+	/**
+	 * Initializes the {@code Paint} objects used for the glow, based on {@code mGlowStyle}.
+	 * Must be called after {@code mCircleProgressPaint} is initialized.
+	 */
+	protected void initGlowPaints() {
+		if (mCircleProgressGlowPaint == null) {
+			mCircleProgressGlowPaint = new Paint();
+		}
+		mCircleProgressGlowPaint.set(mCircleProgressPaint);
+		mCircleProgressGlowPaint.setMaskFilter(null);
+		mCircleProgressGlowLayerPaints = null;
+
+		float glowRadius = DEFAULT_GLOW_RADIUS * DPTOPX_SCALE;
+		if (mGlowStyle == GLOW_STYLE_SPRITE) {
+			mCircleProgressGlowPaint.setMaskFilter(new BlurMaskFilter(glowRadius, BlurMaskFilter.Blur.NORMAL));
+		} else if (mGlowStyle == GLOW_STYLE_LAYERED) {
+			mCircleProgressGlowLayerPaints = new Paint[GLOW_LAYER_COUNT];
+			int layerAlpha = Color.alpha(mCircleProgressColor) / (GLOW_LAYER_COUNT * 2);
+			for (int i = 0; i < GLOW_LAYER_COUNT; i++) {
+				Paint layerPaint = new Paint();
+				layerPaint.set(mCircleProgressPaint);
+				layerPaint.setAlpha(layerAlpha);
+				layerPaint.setStrokeWidth(mCircleStrokeWidth + (2f * glowRadius * (GLOW_LAYER_COUNT - i) / GLOW_LAYER_COUNT));
+				mCircleProgressGlowLayerPaints[i] = layerPaint;
+			}
+		}
+
+		mGlowDirty = true;
+	}
+
+	/**
+	 * Calculates the total degrees between mStartAngle and mEndAngle, and sets mTotalCircleDegrees
+	 * to this value.
+	 */
+	protected void calculateTotalDegrees() {
+		mTotalCircleDegrees = CircularSeekBarGeometry.totalDegrees(mStartAngle, mEndAngle);
+	}
+
+	/**
+	 * Calculate the degrees that the progress represents. Also called the sweep angle.
+	 * Sets mProgressDegrees to that value.
+	 */
+	protected void calculateProgressDegrees() {
+		mProgressDegrees = CircularSeekBarGeometry.clockwiseDistance(mStartAngle, mPointerPosition);
+	}
+
+	/**
+	 * Calculate the pointer position (and the end of the progress arc) in degrees.
+	 * Sets mPointerPosition to that value.
+	 */
+	protected void calculatePointerAngle() {
+		syncPreciseProgress();
+		mPointerPosition = CircularSeekBarGeometry.angleForProgress(mPreciseProgress, mPreciseMax, mStartAngle, mTotalCircleDegrees);
+	}
+
+	/**
+	 * Calculate the position of the range start pointer in degrees, and its X and Y coordinates.
+	 * Sets mRangeStartDegrees, mRangeStartPointerPosition and mRangeStartPointerPositionXY.
+	 * The range start is never drawn past the progress pointer.
+	 */
+	protected void calculateRangeStartPosition() {
+		float rangeStartPercent = (float) (mRangeStartProgress / mPreciseMax);
+		mRangeStartDegrees = Math.min(rangeStartPercent * mTotalCircleDegrees, mProgressDegrees);
+		mRangeStartPointerPosition = (mStartAngle + mRangeStartDegrees) % 360f;
+		if (mRangeStartPointerPositionXY == null) {
+			mRangeStartPointerPositionXY = new float[2];
+		}
+		CircularSeekBarGeometry.arcEndPoint(mStartAngle, mRangeStartDegrees, mCircleWidth, mCircleHeight, mRangeStartPointerPositionXY);
+		mRangeStartPointerPositionXY[0] += mCircleRectF.centerX();
+		mRangeStartPointerPositionXY[1] += mCircleRectF.centerY();
+	}
+
+	/**
+	 * Calculate the pointer position (the end of the progress arc) in terms of X and Y coordinates.
+	 * Sets mPointerPositionXY to that value.
+	 * Computed analytically by {@link CircularSeekBarGeometry}, so no {@code PathMeasure} is needed.
+	 */
+	protected void calculatePointerXYPosition() {
+		CircularSeekBarGeometry.arcEndPoint(mStartAngle, mProgressDegrees, mCircleWidth, mCircleHeight, mPointerPositionXY);
+		mPointerPositionXY[0] += mCircleRectF.centerX();
+		mPointerPositionXY[1] += mCircleRectF.centerY();
+	}
+
+	/**
+	 * Calculate the tick marks into {@code mTickLines}. Each mark crosses the circle stroke at its tick.
+	 * Only called when the layout-level geometry changes, so drawing the marks does no math.
+	 */
+	protected void calculateTickMarks() {
+		int count = CircularSeekBarGeometry.tickMarkCount(mTotalCircleDegrees, mTickCount);
+		if (count > 0 && (mTickLines == null || mTickLines.length < count * 4)) {
+			mTickLines = new float[count * 4];
+		}
+		CircularSeekBarGeometry.tickMarks(mStartAngle, mTotalCircleDegrees, mTickCount, count, mCircleWidth, mCircleHeight,
+				mCircleStrokeWidth / 2f, mCircleRectF.centerX(), mCircleRectF.centerY(), mTickLines);
+		mTickLineCount = count;
+	}
 
-		// Get the distance from the center of the circle in terms of a radius
-		float touchEventRadius = (float) Math.sqrt((Math.pow(distanceX, 2) + Math.pow(distanceY, 2)));
+	/**
+	 * Rebuild the progress gradient shader for the current layout and set it on the progress paints.
+	 * The positions are scaled from the circle to the full sweep of the {@code SweepGradient},
+	 * which is rotated to begin at the start angle. The gap after the end of the arc is split between
+	 * the last and the first color, so the round caps at both ends of the arc show their own color.
+	 */
+	protected void updateProgressShader() {
+		mProgressShaderDirty = false;
+		if (mProgressGradientColors == null) {
+			if (mProgressShader != null) {
+				mProgressShader = null;
+				ensureOwnPaints();
+				mCircleProgressPaint.setShader(null);
+				initGlowPaints();
+			}
+			return;
+		}
+
+		int count = mProgressGradientColors.length;
+		float circleFraction = mTotalCircleDegrees / 360f;
+		// Two more stops: the last color to the middle of the gap, then back to the first color at 1.0,
+		// otherwise the gradient clamps to the last color all the way around to the start of the arc
+		int[] colors = new int[count + 2];
+		float[] positions = new float[count + 2];
+		for (int i = 0; i < count; i++) {
+			float position = (mProgressGradientPositions != null ? mProgressGradientPositions[i] : (float) i / (count - 1));
+			colors[i] = mProgressGradientColors[i];
+			positions[i] = Math.max(0f, Math.min(1f, position)) * circleFraction;
+		}
+		colors[count] = mProgressGradientColors[count - 1];
+		positions[count] = Math.max(positions[count - 1], (circleFraction + 1f) / 2f);
+		colors[count + 1] = mProgressGradientColors[0];
+		positions[count + 1] = 1f;
+
+		float centerX = mCircleRectF.centerX();
+		float centerY = mCircleRectF.centerY();
+		mProgressShader = new SweepGradient(centerX, centerY, colors, positions);
+		if (mProgressShaderMatrix == null) {
+			mProgressShaderMatrix = new Matrix();
+		}
+		mProgressShaderMatrix.setRotate(mStartAngle, centerX, centerY);
+		mProgressShader.setLocalMatrix(mProgressShaderMatrix);
+		ensureOwnPaints();
+		mCircleProgressPaint.setShader(mProgressShader);
+		initGlowPaints();
+	}
+
+	/**
+	 * Initialize the {@code Path} objects with the appropriate values.
+	 * The {@code Path} instances are rewound and refilled rather than recreated, so this does not allocate.
+	 */
+	protected void initPaths() {
+		initCirclePath();
+		initProgressPath();
+	}
+
+	/**
+	 * Initialize the {@code Path} of the circle/semi-circle. Only depends on the layout.
+	 */
+	protected void initCirclePath() {
+		mCirclePath.rewind();
+		mCirclePath.addArc(mCircleRectF, mStartAngle, mTotalCircleDegrees);
+	}
+
+	/**
+	 * Initialize the {@code Path} of the progress. Depends on the layout and the progress.
+	 */
+	protected void initProgressPath() {
+		mCircleProgressPath.rewind();
+		if (mRangeEnabled) {
+			mCircleProgressPath.addArc(mCircleRectF, mStartAngle + mRangeStartDegrees, mProgressDegrees - mRangeStartDegrees);
+		} else {
+			mCircleProgressPath.addArc(mCircleRectF, mStartAngle, mProgressDegrees);
+		}
+	}
 
+	/**
+	 * Calculate the squared inner and outer radii that accept touches.
+	 * Sets mTouchInnerRadiusSquared and mTouchOuterRadiusSquared to those values.
+	 */
+	protected void calculateTouchRadii() {
 		float minimumTouchTarget = MIN_TOUCH_TARGET_DP * DPTOPX_SCALE; // Convert minimum touch target into px
-		float additionalRadius; // Either uses the minimumTouchTarget size or larger if the ring/pointer is larger
+		CircularSeekBarGeometry.touchRadiiSquared(mCircleWidth, mCircleHeight, mCircleStrokeWidth, minimumTouchTarget, mTouchScratch);
+		mTouchInnerRadiusSquared = mTouchScratch[0];
+		mTouchOuterRadiusSquared = mTouchScratch[1];
+	}
+
+	/**
+	 * Initialize the {@code RectF} objects with the appropriate values.
+	 */
+	protected void initRects() {
+		mCircleRectF.set(-mCircleWidth, -mCircleHeight, mCircleWidth, mCircleHeight);
+	}
+
+	/**
+	 * Redraw the circle and the circle fill into {@code mBackgroundBitmap}.
+	 * The {@code Bitmap} is only reallocated when the size of the View changes.
+	 */
+	protected void updateBackgroundBitmap() {
+		int width = getWidth();
+		int height = getHeight();
+		if (mBackgroundBitmap == null || mBackgroundBitmap.getWidth() != width || mBackgroundBitmap.getHeight() != height) {
+			releaseBackgroundBitmap();
+			mBackgroundBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+			if (mBackgroundCanvas == null) {
+				mBackgroundCanvas = new Canvas();
+			}
+			mBackgroundCanvas.setBitmap(mBackgroundBitmap);
+		} else {
+			mBackgroundBitmap.eraseColor(Color.TRANSPARENT);
+		}
+
+		int saveCount = mBackgroundCanvas.save();
+		mBackgroundCanvas.translate(width / 2, height / 2);
+		mBackgroundCanvas.drawPath(mCirclePath, mCirclePaint);
+		mBackgroundCanvas.drawPath(mCirclePath, mCircleFillPaint);
+		mBackgroundCanvas.restoreToCount(saveCount);
+
+		mBackgroundDirty = false;
+	}
+
+	/**
+	 * Redraw the blurred glow of the whole circle into {@code mGlowBitmap}.
+	 * The {@code Bitmap} is drawn in software, so the {@code BlurMaskFilter} always works.
+	 */
+	protected void updateGlowBitmap() {
+		int width = getWidth();
+		int height = getHeight();
+		if (mGlowBitmap == null || mGlowBitmap.getWidth() != width || mGlowBitmap.getHeight() != height) {
+			releaseGlowBitmap();
+			mGlowBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ALPHA_8);
+			if (mGlowCanvas == null) {
+				mGlowCanvas = new Canvas();
+			}
+			mGlowCanvas.setBitmap(mGlowBitmap);
+		} else {
+			mGlowBitmap.eraseColor(Color.TRANSPARENT);
+		}
+
+		int saveCount = mGlowCanvas.save();
+		mGlowCanvas.translate(width / 2, height / 2);
+		mGlowCanvas.drawPath(mCirclePath, mCircleProgressGlowPaint);
+		mGlowCanvas.restoreToCount(saveCount);
+
+		mGlowDirty = false;
+	}
+
+	/**
+	 * Release {@code mGlowBitmap}. It is recreated the next time it is needed.
+	 */
+	protected void releaseGlowBitmap() {
+		if (mGlowBitmap != null) {
+			if (mGlowCanvas != null) {
+				mGlowCanvas.setBitmap(null);
+			}
+			mGlowBitmap.recycle();
+			mGlowBitmap = null;
+		}
+		mGlowDirty = true;
+	}
+
+	/**
+	 * Initialize the wedge {@code Path} used to clip the cached glow to the progress arc.
+	 */
+	protected void initGlowClipPath() {
+		float outset = mCircleStrokeWidth + (2f * DEFAULT_GLOW_RADIUS * DPTOPX_SCALE);
+		if (mGlowClipPath == null) {
+			mGlowClipPath = new Path();
+			mGlowClipRectF = new RectF();
+		}
+		mGlowClipRectF.set(mCircleRectF.left - outset, mCircleRectF.top - outset, mCircleRectF.right + outset, mCircleRectF.bottom + outset);
+		mGlowClipPath.rewind();
+		mGlowClipPath.moveTo(mCircleRectF.centerX(), mCircleRectF.centerY());
+		if (mRangeEnabled) {
+			mGlowClipPath.arcTo(mGlowClipRectF, mStartAngle + mRangeStartDegrees, mProgressDegrees - mRangeStartDegrees, false);
+		} else {
+			mGlowClipPath.arcTo(mGlowClipRectF, mStartAngle, mProgressDegrees, false);
+		}
+		mGlowClipPath.close();
+	}
+
+	/**
+	 * Draw the glow around the progress, based on {@code mGlowStyle}.
+	 * The canvas must already be translated to the center of the View.
+	 * @param canvas The {@code Canvas} to draw on.
+	 */
+	protected void drawProgressGlow(Canvas canvas) {
+		switch (mGlowStyle) {
+		case GLOW_STYLE_SPRITE:
+			if (mProgressDegrees <= 0f || getWidth() <= 0 || getHeight() <= 0) {
+				break;
+			}
+			if (mGlowDirty || mGlowBitmap == null) {
+				updateGlowBitmap();
+			}
+			if (mGlowClipPath == null) {
+				initGlowClipPath();
+			}
+			int saveCount = canvas.save();
+			canvas.clipPath(mGlowClipPath);
+			canvas.drawBitmap(mGlowBitmap, -(getWidth() / 2), -(getHeight() / 2), mCircleProgressPaint);
+			canvas.restoreToCount(saveCount);
+			break;
+		case GLOW_STYLE_LAYERED:
+			for (int i = 0; i < GLOW_LAYER_COUNT; i++) {
+				canvas.drawPath(mCircleProgressPath, mCircleProgressGlowLayerPaints[i]);
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Release {@code mBackgroundBitmap}. It is recreated the next time it is needed.
+	 */
+	protected void releaseBackgroundBitmap() {
+		if (mBackgroundBitmap != null) {
+			if (mBackgroundCanvas != null) {
+				mBackgroundCanvas.setBitmap(null);
+			}
+			mBackgroundBitmap.recycle();
+			mBackgroundBitmap = null;
+		}
+		mBackgroundDirty = true;
+	}
+
+	@Override
+	protected void onDetachedFromWindow() {
+		super.onDetachedFromWindow();
+		// Jump to the target first, so the pending update and the flush below include it
+		finishProgressAnimation();
+		if (mProgressUpdatePending) {
+			mProgressUpdatePending = false;
+			removeCallbacks(mProgressUpdateRunnable);
+			recalculateProgress();
+		}
+		stopFling();
+		if (mVelocityTracker != null) {
+			mVelocityTracker.recycle();
+			mVelocityTracker = null;
+		}
+		flushProgressChanged();
+		releaseBackgroundBitmap();
+		releaseGlowBitmap();
+	}
+
+	@Override
+	protected void onDraw(Canvas canvas) {
+		if (!sTraceEnabled) {
+			handleDraw(canvas);
+			return;
+		}
+		Trace.beginSection(TRACE_ON_DRAW);
+		try {
+			handleDraw(canvas);
+		} finally {
+			Trace.endSection();
+		}
+	}
 
-		if (mCircleStrokeWidth < minimumTouchTarget) { // If the width is less than the minimumTouchTarget, use the minimumTouchTarget
-			additionalRadius = minimumTouchTarget / 2;
+	/**
+	 * Draw the CircularSeekBar. Called by {@link #onDraw(Canvas)}.
+	 * @param canvas The canvas to draw on.
+	 */
+	protected void handleDraw(Canvas canvas) {
+		long drawStartTime = (mMetrics != null ? System.nanoTime() : 0L);
+		super.onDraw(canvas);
+
+		if (mProgressUpdatePending) {
+			// Drawing anyway, so bring the progress up to date now rather than on the next frame
+			mProgressUpdatePending = false;
+			removeCallbacks(mProgressUpdateRunnable);
+			recalculateProgress();
+		}
+
+		if (mBackgroundCacheEnabled && getWidth() > 0 && getHeight() > 0) {
+			if (mBackgroundDirty || mBackgroundBitmap == null) {
+				updateBackgroundBitmap();
+			}
+			canvas.drawBitmap(mBackgroundBitmap, 0, 0, null);
+
+			canvas.translate(this.getWidth() / 2, this.getHeight() / 2);
+
+			// The fill is part of the cached background, so it is drawn below the progress in this mode
+			drawProgressGlow(canvas);
+			canvas.drawPath(mCircleProgressPath, mCircleProgressPaint);
+		} else {
+			canvas.translate(this.getWidth() / 2, this.getHeight() / 2);
+
+			canvas.drawPath(mCirclePath, mCirclePaint);
+			drawProgressGlow(canvas);
+			canvas.drawPath(mCircleProgressPath, mCircleProgressPaint);
+
+			canvas.drawPath(mCirclePath, mCircleFillPaint);
+		}
+
+		if (mTickMarksEnabled && mTickLineCount > 0) {
+			canvas.drawLines(mTickLines, 0, mTickLineCount * 4, mTickPaint);
+		}
+
+		if (!mGaugeMode) { // A gauge has no pointers
+			if (mRangeEnabled) {
+				drawPointer(canvas, mRangeStartPointerPositionXY, mThumbPointerIds[THUMB_RANGE_START] != INVALID_POINTER_ID);
+				mDrawnRangeStartDegrees = mRangeStartDegrees;
+				if (mDrawnRangeStartPointerPositionXY == null) {
+					mDrawnRangeStartPointerPositionXY = new float[2];
+				}
+				mDrawnRangeStartPointerPositionXY[0] = mRangeStartPointerPositionXY[0];
+				mDrawnRangeStartPointerPositionXY[1] = mRangeStartPointerPositionXY[1];
+			}
+			drawPointer(canvas, mPointerPositionXY, mThumbPointerIds[THUMB_PROGRESS] != INVALID_POINTER_ID);
+		}
+
+		mDrawnProgressDegrees = mProgressDegrees;
+		mDrawnPointerPositionXY[0] = mPointerPositionXY[0];
+		mDrawnPointerPositionXY[1] = mPointerPositionXY[1];
+		mHasDrawnProgress = true;
+
+		if (mMetrics != null && drawStartTime != 0L) {
+			mMetrics.recordDraw(System.nanoTime() - drawStartTime);
+		}
+	}
+
+	/**
+	 * Draw a pointer with its halo.
+	 * @param canvas The {@code Canvas} to draw on, translated to the center of the View.
+	 * @param positionXY The X and Y coordinates of the pointer.
+	 * @param isMoving True if the user is moving this pointer, in which case the halo border is drawn.
+	 */
+	protected void drawPointer(Canvas canvas, float[] positionXY, boolean isMoving) {
+		canvas.drawCircle(positionXY[0], positionXY[1], mPointerRadius + mPointerHaloWidth, mPointerHaloPaint);
+		canvas.drawCircle(positionXY[0], positionXY[1], mPointerRadius, mPointerPaint);
+		if (isMoving) {
+			canvas.drawCircle(positionXY[0], positionXY[1], mPointerRadius + mPointerHaloWidth + (mPointerHaloBorderWidth / 2f), mPointerHaloBorderPaint);
+		}
+	}
+
+	/**
+	 * Invalidate only the part of the View affected by a progress change: the pointer (including its
+	 * halo) where it was last drawn and where it is now, and the arc swept between the two.
+	 * Falls back to invalidating the whole View if nothing has been drawn with the current layout yet.
+	 */
+	protected void invalidateProgress() {
+		if (!mHasDrawnProgress || (mRangeEnabled && mDrawnRangeStartPointerPositionXY == null)) {
+			invalidate(); // Counted as a full invalidation by invalidate()
+			return;
+		}
+
+		mDirtyRectF.setEmpty();
+		addDirtyPointer(mDrawnProgressDegrees, mProgressDegrees, mDrawnPointerPositionXY, mPointerPositionXY);
+		if (mRangeEnabled) {
+			addDirtyPointer(mDrawnRangeStartDegrees, mRangeStartDegrees, mDrawnRangeStartPointerPositionXY, mRangeStartPointerPositionXY);
+		}
+
+		// Convert to View coordinates, with an extra pixel for anti-aliasing
+		mDirtyRectF.offset(getWidth() / 2, getHeight() / 2);
+		mDirtyRectF.roundOut(mDirtyRect);
+		mDirtyRect.inset(-1, -1);
+		if (mMetrics != null) {
+			mMetrics.recordInvalidate(true);
+		}
+		invalidate(mDirtyRect);
+	}
+
+	/**
+	 * Invalidate the whole View, and count it in the metrics if they are enabled.
+	 * Every full redraw requested by the setters, the layout, the style and restoring the state goes through here.
+	 */
+	@Override
+	public void invalidate() {
+		if (mMetrics != null) {
+			mMetrics.recordInvalidate(false);
+		}
+		super.invalidate();
+	}
+
+	/**
+	 * Add the area affected by moving one pointer to {@code mDirtyRectF}: the pointer (including its halo)
+	 * where it was last drawn and where it is now, and the arc swept between the two.
+	 * @param drawnDegrees Distance (in degrees) from {@code mStartAngle} to the pointer when it was last drawn.
+	 * @param degrees Distance (in degrees) from {@code mStartAngle} to the pointer now.
+	 * @param drawnXY The X and Y coordinates of the pointer when it was last drawn.
+	 * @param positionXY The X and Y coordinates of the pointer now.
+	 */
+	protected void addDirtyPointer(float drawnDegrees, float degrees, float[] drawnXY, float[] positionXY) {
+		float sweepStart = mStartAngle + Math.min(drawnDegrees, degrees);
+		float sweep = Math.abs(degrees - drawnDegrees);
+		CircularSeekBarGeometry.arcBounds(sweepStart, sweep, mCircleWidth, mCircleHeight, mDirtyArcBounds);
+		float arcOutset = mCircleStrokeWidth / 2f;
+		if (mGlowStyle != GLOW_STYLE_NONE) {
+			arcOutset += 2f * DEFAULT_GLOW_RADIUS * DPTOPX_SCALE;
+		}
+		mDirtyRectF.union(mDirtyArcBounds[0] - arcOutset, mDirtyArcBounds[1] - arcOutset,
+				mDirtyArcBounds[2] + arcOutset, mDirtyArcBounds[3] + arcOutset);
+
+		float pointerOutset = mPointerRadius + mPointerHaloWidth + mPointerHaloBorderWidth;
+		mDirtyRectF.union(drawnXY[0] - pointerOutset, drawnXY[1] - pointerOutset,
+				drawnXY[0] + pointerOutset, drawnXY[1] + pointerOutset);
+		mDirtyRectF.union(positionXY[0] - pointerOutset, positionXY[1] - pointerOutset,
+				positionXY[0] + pointerOutset, positionXY[1] + pointerOutset);
+	}
+
+	/**
+	 * Get the progress of the CircularSeekBar.
+	 * @return The progress of the CircularSeekBar.
+	 */
+	public int getProgress() {
+		syncPreciseProgress();
+		int progress = roundToInt(mPreciseMax * mProgressDegrees / mTotalCircleDegrees);
+		return progress;
+	}
+
+	/**
+	 * Set the progress of the CircularSeekBar.
+	 * The high resolution progress is set to exactly this value, even if it already rounds to it.
+	 * If the progress is the same, then any listener will not receive a onProgressChanged event.
+	 * @param progress The progress to set the CircularSeekBar to.
+	 */
+	public void setProgress(int progress) {
+		stopProgressAnimation();
+		updatePreciseProgress(progress, false);
+	}
+
+	/**
+	 * Set the progress of the CircularSeekBar, optionally animating the pointer to the new position.
+	 * An animation runs for {@link #getProgressAnimationDuration()} and reports each intermediate value
+	 * to the listeners. Calling this again while animating continues smoothly from the current position.
+	 * The animation is cancelled if the user touches the CircularSeekBar or the progress is set without animating.
+	 * @param progress The progress to set the CircularSeekBar to.
+	 * @param animate True to animate the change, false to set it immediately.
+	 */
+	public void setProgress(int progress, boolean animate) {
+		if (!animate || mProgressAnimationDuration <= 0) {
+			setProgress(progress);
+			return;
+		}
+		syncPreciseProgress();
+		if (mPreciseProgress == progress) {
+			stopProgressAnimation();
+			return;
+		}
+		stopFling();
+		mProgressAnimationFrom = mPreciseProgress;
+		mProgressAnimationTo = progress;
+		mProgressAnimationStartTime = SystemClock.uptimeMillis();
+		if (!mProgressAnimationRunning) {
+			mProgressAnimationRunning = true;
+			if (mProgressAnimationRunnable == null) {
+				mProgressAnimationRunnable = new Runnable() {
+					@Override
+					public void run() {
+						stepProgressAnimation();
+					}
+				};
+			}
+			postOnAnimation(mProgressAnimationRunnable);
+		}
+	}
+
+	/**
+	 * Advance the progress animation by one frame. Only the progress-level geometry is recalculated.
+	 */
+	protected void stepProgressAnimation() {
+		if (!mProgressAnimationRunning) {
+			return;
+		}
+		float fraction = (float) (SystemClock.uptimeMillis() - mProgressAnimationStartTime) / mProgressAnimationDuration;
+		if (fraction >= 1f) {
+			mProgressAnimationRunning = false;
+			updatePreciseProgress(mProgressAnimationTo, false);
+		} else {
+			float interpolated = (mProgressInterpolator != null ? mProgressInterpolator.getInterpolation(fraction) : fraction);
+			updatePreciseProgress(mProgressAnimationFrom + (mProgressAnimationTo - mProgressAnimationFrom) * interpolated, false);
+			postOnAnimation(mProgressAnimationRunnable);
+		}
+	}
+
+	/**
+	 * Stop a running progress animation, leaving the progress where it is.
+	 */
+	protected void stopProgressAnimation() {
+		if (mProgressAnimationRunning) {
+			mProgressAnimationRunning = false;
+			removeCallbacks(mProgressAnimationRunnable);
+		}
+	}
+
+	/**
+	 * Stop the animation of the progress, if running, and set the progress to its target right away.
+	 */
+	protected void finishProgressAnimation() {
+		if (mProgressAnimationRunning) {
+			stopProgressAnimation();
+			updatePreciseProgress(mProgressAnimationTo, false);
+		}
+	}
+
+	/**
+	 * Set the duration of animated progress changes.
+	 * @param duration The duration in milliseconds. Zero or less disables the animation.
+	 */
+	public void setProgressAnimationDuration(int duration) {
+		mProgressAnimationDuration = duration;
+	}
+
+	/**
+	 * Get the duration of animated progress changes.
+	 * @return The duration in milliseconds.
+	 */
+	public int getProgressAnimationDuration() {
+		return mProgressAnimationDuration;
+	}
+
+	/**
+	 * Set the interpolator of animated progress changes.
+	 * @param interpolator The interpolator, or null for a linear animation.
+	 */
+	public void setProgressInterpolator(Interpolator interpolator) {
+		mProgressInterpolator = interpolator;
+	}
+
+	/**
+	 * Get the interpolator of animated progress changes.
+	 * @return The interpolator, or null for a linear animation.
+	 */
+	public Interpolator getProgressInterpolator() {
+		return mProgressInterpolator;
+	}
+
+	/**
+	 * Set the number of equal steps the circle is divided into. Progress set by the user snaps to the
+	 * nearest tick, taking precedence over the progress step.
+	 * @param tickCount The number of steps, or zero to disable snapping to ticks.
+	 */
+	public void setTickCount(int tickCount) {
+		tickCount = Math.max(0, tickCount);
+		if (mTickCount != tickCount) {
+			mTickCount = tickCount;
+			recalculateAll();
+			invalidate();
+		}
+	}
+
+	/**
+	 * Get the number of equal steps the circle is divided into.
+	 * @return The number of steps, or zero if snapping to ticks is disabled.
+	 */
+	public int getTickCount() {
+		return mTickCount;
+	}
+
+	/**
+	 * Set whether the tick marks are drawn across the circle.
+	 * @param tickMarksEnabled True to draw the tick marks.
+	 */
+	public void setTickMarksEnabled(boolean tickMarksEnabled) {
+		mTickMarksEnabled = tickMarksEnabled;
+		invalidate();
+	}
+
+	/**
+	 * Get whether the tick marks are drawn across the circle.
+	 * @return True if the tick marks are drawn.
+	 */
+	public boolean isTickMarksEnabled() {
+		return mTickMarksEnabled;
+	}
+
+	/**
+	 * Set whether haptic feedback is performed each time the user moves a pointer to another tick.
+	 * @param tickHapticFeedbackEnabled True to perform haptic feedback.
+	 */
+	public void setTickHapticFeedbackEnabled(boolean tickHapticFeedbackEnabled) {
+		mTickHapticFeedbackEnabled = tickHapticFeedbackEnabled;
+	}
+
+	/**
+	 * Get whether haptic feedback is performed each time the user moves a pointer to another tick.
+	 * @return True if haptic feedback is performed.
+	 */
+	public boolean isTickHapticFeedbackEnabled() {
+		return mTickHapticFeedbackEnabled;
+	}
+
+	/**
+	 * Draw the progress with a smooth gradient instead of the circle progress color.
+	 * The gradient follows the circle from the start angle, so the colors are fixed to positions on the circle.
+	 * @param colors The colors of the gradient (at least two), or null to use the circle progress color.
+	 * @param positions The position of each color as a fraction (0 to 1) of the circle, in increasing order,
+	 * or null to space the colors evenly.
+	 */
+	public void setProgressGradient(int[] colors, float[] positions) {
+		if (colors != null && colors.length < 2) {
+			throw new IllegalArgumentException("At least two colors are required");
+		}
+		if (colors != null && positions != null && positions.length != colors.length) {
+			throw new IllegalArgumentException("colors and positions must have the same length");
+		}
+		mProgressGradientColors = (colors != null ? colors.clone() : null);
+		mProgressGradientPositions = (colors != null && positions != null ? positions.clone() : null);
+		mProgressShaderDirty = true;
+		recalculateProgress();
+		invalidate();
+	}
+
+	/**
+	 * Draw the progress in solid color zones, for example green, amber and red.
+	 * Each zone begins where the previous one ends (the first at the start of the circle).
+	 * @param colors The color of each zone, or null to use the circle progress color.
+	 * @param zoneEnds The end of each zone as a fraction (0 to 1) of the circle, in increasing order.
+	 * The last zone usually ends at 1.
+	 */
+	public void setProgressColorZones(int[] colors, float[] zoneEnds) {
+		if (colors == null) {
+			setProgressGradient(null, null);
+			return;
+		}
+		if (zoneEnds == null || zoneEnds.length != colors.length) {
+			throw new IllegalArgumentException("colors and zoneEnds must have the same length");
+		}
+		// Each zone is two stops of the same color, so the gradient has hard edges
+		int[] gradientColors = new int[colors.length * 2];
+		float[] gradientPositions = new float[colors.length * 2];
+		float zoneStart = 0f;
+		for (int i = 0; i < colors.length; i++) {
+			gradientColors[i * 2] = colors[i];
+			gradientColors[i * 2 + 1] = colors[i];
+			gradientPositions[i * 2] = zoneStart;
+			gradientPositions[i * 2 + 1] = zoneEnds[i];
+			zoneStart = zoneEnds[i];
+		}
+		setProgressGradient(gradientColors, gradientPositions);
+	}
+
+	/**
+	 * Get the colors of the progress gradient.
+	 * For color zones, each zone color is returned twice.
+	 * @return A copy of the colors, or null if the circle progress color is used.
+	 */
+	public int[] getProgressGradientColors() {
+		return (mProgressGradientColors != null ? mProgressGradientColors.clone() : null);
+	}
+
+	/**
+	 * Get the positions of the progress gradient colors.
+	 * @return A copy of the positions as fractions of the circle, or null if the colors are spaced evenly.
+	 */
+	public float[] getProgressGradientPositions() {
+		return (mProgressGradientPositions != null ? mProgressGradientPositions.clone() : null);
+	}
+
+	/**
+	 * Sets the tick mark color.
+	 * @param color the color of the tick marks
+	 */
+	public void setTickColor(int color) {
+		mTickColor = color;
+		ensureOwnPaints();
+		mTickPaint.setColor(mTickColor);
+		invalidate();
+	}
+
+	/**
+	 * Gets the tick mark color.
+	 * @return An integer color value for the tick marks
+	 */
+	public int getTickColor() {
+		return mTickColor;
+	}
+
+	/**
+	 * Get the high resolution progress of the CircularSeekBar.
+	 * @return The progress of the CircularSeekBar, in the range 0 to {@link #getPreciseMax()}.
+	 */
+	public double getPreciseProgress() {
+		syncPreciseProgress();
+		return mPreciseProgress;
+	}
+
+	/**
+	 * Set the high resolution progress of the CircularSeekBar.
+	 * The value is not snapped to the progress step; only progress set by the user is.
+	 * If the progress is the same, then any listener will not receive a progress changed event.
+	 * Listeners for the integer progress are only notified if the rounded value changes.
+	 * @param progress The progress to set the CircularSeekBar to, in the range 0 to {@link #getPreciseMax()}.
+	 */
+	public void setPreciseProgress(double progress) {
+		stopProgressAnimation();
+		updatePreciseProgress(progress, false);
+	}
+
+	/**
+	 * Set the high resolution progress, notify the listeners and redraw, if the progress changed.
+	 * @param progress The new high resolution progress.
+	 * @param fromUser True if the change was initiated by the user.
+	 */
+	protected void updatePreciseProgress(double progress, boolean fromUser) {
+		syncPreciseProgress();
+		if (mPreciseProgress != progress) {
+			int oldProgress = mProgress;
+			setProgressInternal(progress);
+			if (mProgress != oldProgress) {
+				dispatchThumbChanged(THUMB_PROGRESS, fromUser);
+			} else {
+				dispatchPreciseProgressChanged(fromUser);
+			}
+
+			requestProgressUpdate();
+		}
+	}
+
+	/**
+	 * Set the high resolution max of the CircularSeekBar. {@link #getMax()} returns this value rounded.
+	 * If the new max is less than the current progress, then the progress will be set to zero.
+	 * @param max The new max for the CircularSeekBar. Must be greater than zero.
+	 */
+	public void setPreciseMax(double max) {
+		if (max > 0) {
+			syncPreciseProgress();
+			if (max <= mPreciseProgress) {
+				setProgressInternal(0);
+				dispatchThumbChanged(THUMB_PROGRESS, false);
+			}
+			mPreciseMax = max;
+			mMax = roundToInt(max);
+
+			requestProgressUpdate();
+		}
+	}
+
+	/**
+	 * Get the high resolution max of the CircularSeekBar.
+	 * @return The max of the CircularSeekBar.
+	 */
+	public double getPreciseMax() {
+		syncPreciseProgress();
+		return mPreciseMax;
+	}
+
+	/**
+	 * Set the step that progress set by the user is snapped to.
+	 * @param step The step in the units of {@link #getPreciseMax()}, or zero for continuous progress.
+	 */
+	public void setProgressStep(double step) {
+		mProgressStep = (step > 0 ? step : 0);
+	}
+
+	/**
+	 * Get the step that progress set by the user is snapped to.
+	 * @return The step in the units of {@link #getPreciseMax()}, or zero for continuous progress.
+	 */
+	public double getProgressStep() {
+		return mProgressStep;
+	}
+
+	/**
+	 * Set both {@code mPreciseProgress} and {@code mProgress}.
+	 * The start of the range is moved back if it would otherwise be past the progress.
+	 * @param progress The high resolution progress.
+	 */
+	protected void setProgressInternal(double progress) {
+		mPreciseProgress = progress;
+		mProgress = roundToInt(progress);
+		if (mRangeStartProgress > progress) {
+			mRangeStartProgress = Math.max(0, progress);
+		}
+	}
+
+	/**
+	 * Bring {@code mPreciseMax} and {@code mPreciseProgress} up to date if {@code mMax} or {@code mProgress}
+	 * were assigned directly, for example by a subclass.
+	 */
+	protected void syncPreciseProgress() {
+		if (mMax != roundToInt(mPreciseMax)) {
+			mPreciseMax = mMax;
+		}
+		if (mProgress != roundToInt(mPreciseProgress)) {
+			mPreciseProgress = mProgress;
+		}
+	}
+
+	/**
+	 * Round a high resolution value to the nearest integer, clamped to the {@code int} range,
+	 * the way {@code mMax} and {@code mProgress} mirror {@code mPreciseMax} and {@code mPreciseProgress}.
+	 * @param value The high resolution value.
+	 * @return The rounded and clamped value.
+	 */
+	protected static int roundToInt(double value) {
+		long rounded = Math.round(value);
+		if (rounded > Integer.MAX_VALUE) {
+			return Integer.MAX_VALUE;
+		} else if (rounded < Integer.MIN_VALUE) {
+			return Integer.MIN_VALUE;
+		}
+		return (int) rounded;
+	}
+
+	/**
+	 * Notify the listeners of a progress change.
+	 * If progress coalescing is enabled, the change is delivered on the next frame instead,
+	 * and only the latest value is delivered if it differs from the previously delivered value.
+	 * @param progress The new progress.
+	 * @param fromUser True if the change was initiated by the user.
+	 */
+	protected void dispatchProgressChanged(int progress, boolean fromUser) {
+		if (mOnCircularSeekBarChangeListener == null && mOnCircularSeekBarPreciseChangeListener == null) {
+			return;
+		}
+		if (!mProgressCoalescingEnabled) {
+			if (mOnCircularSeekBarChangeListener != null) {
+				mLastDispatchedProgress = progress;
+				long listenerStartTime = startListenerTiming();
+				try {
+					mOnCircularSeekBarChangeListener.onProgressChanged(this, progress, fromUser);
+				} finally {
+					endListenerTiming(listenerStartTime);
+				}
+			}
+			dispatchPreciseProgressChanged(fromUser);
+			return;
+		}
+
+		mPendingProgress = progress;
+		mPendingPreciseProgress = mPreciseProgress;
+		mPendingProgressFromUser = fromUser;
+		if (!mProgressDispatchPending) {
+			postProgressDispatch();
+		}
+	}
+
+	/**
+	 * Immediately deliver a progress change that is waiting for the next frame, if there is one.
+	 * Called before {@code onStopTrackingTouch} so the listener always receives the final value first.
+	 */
+	protected void flushProgressChanged() {
+		if (mProgressDispatchPending) {
+			removeCallbacks(mProgressDispatchRunnable);
+			mProgressDispatchPending = false;
+			deliverPendingProgress();
+		}
+	}
+
+	/**
+	 * Notify the high resolution listener of a progress change, without notifying the integer listener.
+	 * Coalesced like {@link #dispatchProgressChanged(int, boolean)} if progress coalescing is enabled.
+	 * @param fromUser True if the change was initiated by the user.
+	 */
+	protected void dispatchPreciseProgressChanged(boolean fromUser) {
+		if (mOnCircularSeekBarPreciseChangeListener == null) {
+			return;
+		}
+		if (!mProgressCoalescingEnabled) {
+			mLastDispatchedPreciseProgress = mPreciseProgress;
+			long listenerStartTime = startListenerTiming();
+			try {
+				mOnCircularSeekBarPreciseChangeListener.onPreciseProgressChanged(this, mPreciseProgress, fromUser);
+			} finally {
+				endListenerTiming(listenerStartTime);
+			}
+			return;
+		}
+
+		// The integer progress is unchanged, so the pending integer value stays the same
+		mPendingProgress = mProgress;
+		mPendingPreciseProgress = mPreciseProgress;
+		mPendingProgressFromUser = fromUser;
+		if (!mProgressDispatchPending) {
+			postProgressDispatch();
+		}
+	}
+
+	/**
+	 * Deliver {@code mPendingProgress} and {@code mPendingPreciseProgress} to the listeners
+	 * unless they were already delivered.
+	 */
+	protected void deliverPendingProgress() {
+		if (mOnCircularSeekBarChangeListener != null && mPendingProgress != mLastDispatchedProgress) {
+			mLastDispatchedProgress = mPendingProgress;
+			long listenerStartTime = startListenerTiming();
+			try {
+				mOnCircularSeekBarChangeListener.onProgressChanged(this, mPendingProgress, mPendingProgressFromUser);
+			} finally {
+				endListenerTiming(listenerStartTime);
+			}
+		}
+		if (mOnCircularSeekBarPreciseChangeListener != null && mPendingPreciseProgress != mLastDispatchedPreciseProgress) {
+			mLastDispatchedPreciseProgress = mPendingPreciseProgress;
+			long listenerStartTime = startListenerTiming();
+			try {
+				mOnCircularSeekBarPreciseChangeListener.onPreciseProgressChanged(this, mPendingPreciseProgress, mPendingProgressFromUser);
+			} finally {
+				endListenerTiming(listenerStartTime);
+			}
+		}
+		if (mPendingRangeChanged) {
+			mPendingRangeChanged = false;
+			int rangeStart = getRangeStart();
+			if (mOnCircularSeekBarRangeChangeListener != null
+					&& (rangeStart != mLastDispatchedRangeStart || mProgress != mLastDispatchedRangeEnd)) {
+				mLastDispatchedRangeStart = rangeStart;
+				mLastDispatchedRangeEnd = mProgress;
+				long listenerStartTime = startListenerTiming();
+				try {
+					mOnCircularSeekBarRangeChangeListener.onRangeChanged(this, rangeStart, mProgress, mPendingProgressFromUser);
+				} finally {
+					endListenerTiming(listenerStartTime);
+				}
+			}
+		}
+	}
+
+	protected void setProgressBasedOnAngle(float angle) {
+		mPointerPosition = angle;
+		calculateProgressDegrees();
+		setThumbProgress(THUMB_PROGRESS, calculateProgressForDegrees(mProgressDegrees));
+	}
+
+	/**
+	 * Set the progress of a pointer based on a touch angle.
+	 * @param thumb One of {@code THUMB_PROGRESS} or {@code THUMB_RANGE_START}.
+	 * @param angle The angle in degrees.
+	 */
+	protected void setThumbProgressBasedOnAngle(int thumb, float angle) {
+		if (thumb == THUMB_RANGE_START) {
+			float degrees = CircularSeekBarGeometry.clockwiseDistance(mStartAngle, angle);
+			setThumbProgress(THUMB_RANGE_START, calculateProgressForDegrees(degrees));
+		} else {
+			setProgressBasedOnAngle(angle);
+		}
+	}
+
+	/**
+	 * Calculate the high resolution progress for a distance from {@code mStartAngle}, snapped to the progress step.
+	 * @param degrees Distance (in degrees) from {@code mStartAngle}.
+	 * @return The high resolution progress.
+	 */
+	protected double calculateProgressForDegrees(float degrees) {
+		syncPreciseProgress();
+		return CircularSeekBarGeometry.progressForDegrees(degrees, mTotalCircleDegrees, mPreciseMax, mTickCount, mProgressStep);
+	}
+
+	/**
+	 * Set the progress of a pointer. In range mode the range start is kept at or before the progress.
+	 * @param thumb One of {@code THUMB_PROGRESS} or {@code THUMB_RANGE_START}.
+	 * @param progress The high resolution progress.
+	 */
+	protected void setThumbProgress(int thumb, double progress) {
+		if (thumb == THUMB_RANGE_START) {
+			mRangeStartProgress = Math.max(0, Math.min(progress, mPreciseProgress));
+		} else {
+			setProgressInternal(mRangeEnabled ? Math.max(progress, mRangeStartProgress) : progress);
+		}
+	}
+
+	/**
+	 * Get the position of a pointer on the circle.
+	 * @param thumb One of {@code THUMB_PROGRESS} or {@code THUMB_RANGE_START}.
+	 * @return The position of the pointer in geometric degrees.
+	 */
+	protected float getThumbPointerPosition(int thumb) {
+		return (thumb == THUMB_RANGE_START ? mRangeStartPointerPosition : mPointerPosition);
+	}
+
+	/**
+	 * Find the pointer closest to an angle. Always {@code THUMB_PROGRESS} unless range mode is enabled.
+	 * @param angle The angle in degrees.
+	 * @return One of {@code THUMB_PROGRESS} or {@code THUMB_RANGE_START}.
+	 */
+	protected int findNearestThumb(float angle) {
+		if (!mRangeEnabled) {
+			return THUMB_PROGRESS;
+		}
+		float progressDistance = CircularSeekBarGeometry.shortestDistance(angle, mPointerPosition);
+		float rangeStartDistance = CircularSeekBarGeometry.shortestDistance(angle, mRangeStartPointerPosition);
+		if (rangeStartDistance == progressDistance) {
+			// The pointers overlap, so pick the one that has room to move away from the other
+			return (mRangeStartProgress * 2 >= mPreciseMax ? THUMB_RANGE_START : THUMB_PROGRESS);
+		}
+		return (rangeStartDistance < progressDistance ? THUMB_RANGE_START : THUMB_PROGRESS);
+	}
+
+	/**
+	 * Perform haptic feedback if the user moved a pointer to another tick.
+	 * @param thumb One of {@code THUMB_PROGRESS} or {@code THUMB_RANGE_START}.
+	 */
+	protected void performTickFeedback(int thumb) {
+		if (mTickCount <= 0) {
+			return;
+		}
+		double progress = (thumb == THUMB_RANGE_START ? mRangeStartProgress : mPreciseProgress);
+		int tickIndex = (int) Math.round(progress * mTickCount / mPreciseMax);
+		if (mThumbTickIndex == null) {
+			mThumbTickIndex = new int[THUMB_COUNT];
+		}
+		if (tickIndex != mThumbTickIndex[thumb]) {
+			mThumbTickIndex[thumb] = tickIndex;
+			if (mTickHapticFeedbackEnabled) {
+				performHapticFeedback(HapticFeedbackConstants.CLOCK_TICK);
+			}
+		}
+	}
+
+	/**
+	 * Remember which tick each pointer is at, so that haptic feedback is only performed when it changes.
+	 */
+	protected void resetTickFeedback() {
+		if (mTickCount > 0) {
+			if (mThumbTickIndex == null) {
+				mThumbTickIndex = new int[THUMB_COUNT];
+			}
+			mThumbTickIndex[THUMB_PROGRESS] = (int) Math.round(mPreciseProgress * mTickCount / mPreciseMax);
+			mThumbTickIndex[THUMB_RANGE_START] = (int) Math.round(mRangeStartProgress * mTickCount / mPreciseMax);
+		}
+	}
+
+	/**
+	 * Get the start time for measuring a listener callback, and begin its trace section if tracing is enabled.
+	 * @return The current time in nanoseconds, or zero if metrics are disabled.
+	 */
+	protected long startListenerTiming() {
+		if (sTraceEnabled) {
+			Trace.beginSection(TRACE_LISTENER);
+		}
+		return (mMetrics != null ? System.nanoTime() : 0L);
+	}
+
+	/**
+	 * Record the duration of a listener callback in the metrics, if enabled, and end its trace section.
+	 * @param startTime The value returned by {@link #startListenerTiming()} before the callback.
+	 */
+	protected void endListenerTiming(long startTime) {
+		if (mMetrics != null && startTime != 0L) {
+			mMetrics.recordListenerCall(System.nanoTime() - startTime);
+		}
+		if (sTraceEnabled) {
+			Trace.endSection();
+		}
+	}
+
+	/**
+	 * Notify the listeners that a pointer moved.
+	 * @param thumb One of {@code THUMB_PROGRESS} or {@code THUMB_RANGE_START}.
+	 * @param fromUser True if the change was initiated by the user.
+	 */
+	protected void dispatchThumbChanged(int thumb, boolean fromUser) {
+		if (thumb == THUMB_PROGRESS) {
+			dispatchProgressChanged(mProgress, fromUser);
+		}
+		if (mRangeEnabled) {
+			dispatchRangeChanged(fromUser);
+		}
+	}
+
+	/**
+	 * Notify the range listener of a range change.
+	 * Coalesced like {@link #dispatchProgressChanged(int, boolean)} if progress coalescing is enabled.
+	 * @param fromUser True if the change was initiated by the user.
+	 */
+	protected void dispatchRangeChanged(boolean fromUser) {
+		if (mOnCircularSeekBarRangeChangeListener == null) {
+			return;
+		}
+		if (!mProgressCoalescingEnabled) {
+			mLastDispatchedRangeStart = getRangeStart();
+			mLastDispatchedRangeEnd = mProgress;
+			long listenerStartTime = startListenerTiming();
+			try {
+				mOnCircularSeekBarRangeChangeListener.onRangeChanged(this, mLastDispatchedRangeStart, mLastDispatchedRangeEnd, fromUser);
+			} finally {
+				endListenerTiming(listenerStartTime);
+			}
+			return;
+		}
+
+		mPendingRangeChanged = true;
+		mPendingProgressFromUser = fromUser;
+		if (!mProgressDispatchPending) {
+			mPendingProgress = mProgress;
+			mPendingPreciseProgress = mPreciseProgress;
+			postProgressDispatch();
+		}
+	}
+
+	/**
+	 * Post {@code mProgressDispatchRunnable} to deliver the pending progress change on the next frame.
+	 */
+	protected void postProgressDispatch() {
+		if (mProgressDispatchRunnable == null) {
+			mProgressDispatchRunnable = new Runnable() {
+				@Override
+				public void run() {
+					mProgressDispatchPending = false;
+					deliverPendingProgress();
+				}
+			};
+		}
+		mProgressDispatchPending = true;
+		postOnAnimation(mProgressDispatchRunnable);
+	}
+
+	/**
+	 * Recalculate and redraw after a programmatic progress change.
+	 * In gauge mode this is deferred to the next frame, so any number of changes within a frame
+	 * cost a single recalculation and redraw. The angles are still updated immediately for the getters.
+	 */
+	protected void requestProgressUpdate() {
+		if (!mGaugeMode) {
+			recalculateProgress();
+			invalidateProgress();
+			return;
+		}
+		if (mGeometryDirty) {
+			// Not laid out yet (for example a RecyclerView row that is bound before it is measured)
+			calculateTotalDegrees();
+		}
+		calculatePointerAngle();
+		calculateProgressDegrees();
+		if (!mProgressUpdatePending) {
+			mProgressUpdatePending = true;
+			postOnAnimation(mProgressUpdateRunnable);
+		}
+	}
+
+	/**
+	 * Recalculate all of the geometry. Use this when the size, angles or radii change.
+	 */
+	protected void recalculateAll() {
+		if (mMetrics != null) {
+			mMetrics.recordRecalculateAll();
+		}
+		mGeometryDirty = true;
+		if (!sTraceEnabled) {
+			recalculateProgress();
+			return;
+		}
+		Trace.beginSection(TRACE_RECALCULATE_ALL);
+		try {
+			recalculateProgress();
+		} finally {
+			Trace.endSection();
+		}
+	}
+
+	/**
+	 * Recalculate only the geometry that depends on the progress: the pointer angle, the progress
+	 * arc and the pointer position. Use this when only {@code mProgress} (or {@code mMax}) changed.
+	 * The layout-level geometry is also recalculated first if it has been marked as dirty.
+	 */
+	protected void recalculateProgress() {
+		if (mMetrics != null) {
+			mMetrics.recordRecalculateProgress();
+		}
+		if (mGeometryDirty) {
+			calculateTotalDegrees();
+			initRects();
+			initCirclePath();
+			calculateTouchRadii();
+			calculateTickMarks();
+			mProgressShaderDirty = true;
+			mGeometryDirty = false;
+			mBackgroundDirty = true;
+			mGlowDirty = true;
+			mHasDrawnProgress = false;
+		}
+
+		if (mProgressShaderDirty) {
+			updateProgressShader();
+		}
+
+		calculatePointerAngle();
+		calculateProgressDegrees();
+		if (mRangeEnabled) {
+			calculateRangeStartPosition();
+		}
+
+		initProgressPath();
+		if (mGlowStyle == GLOW_STYLE_SPRITE) {
+			initGlowClipPath();
+		}
+
+		calculatePointerXYPosition();
+	}
+
+	@Override
+	protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+		if (!sTraceEnabled) {
+			handleMeasure(widthMeasureSpec, heightMeasureSpec);
+			return;
+		}
+		Trace.beginSection(TRACE_ON_MEASURE);
+		try {
+			handleMeasure(widthMeasureSpec, heightMeasureSpec);
+		} finally {
+			Trace.endSection();
+		}
+	}
+
+	/**
+	 * Measure the View and size the circle to fit. Called by {@link #onMeasure(int, int)}.
+	 * @param widthMeasureSpec The width requirements from the parent.
+	 * @param heightMeasureSpec The height requirements from the parent.
+	 */
+	protected void handleMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+		int height = getDefaultSize(getSuggestedMinimumHeight(), heightMeasureSpec);
+		int width = getDefaultSize(getSuggestedMinimumWidth(), widthMeasureSpec);
+		if (mMaintainEqualCircle) {
+			int min = Math.min(width, height);
+			setMeasuredDimension(min, min);
+		} else {
+			setMeasuredDimension(width, height);
+		}
+
+		// Parents often measure their children several times per layout pass,
+		// so only rebuild the geometry if the circle actually changed size
+		mCircleRadii[0] = mCircleWidth;
+		mCircleRadii[1] = mCircleHeight;
+		boolean circleChanged = CircularSeekBarGeometry.circleRadii(width, height, mCircleStrokeWidth, mPointerRadius, mPointerHaloBorderWidth,
+				mCustomRadii, mCircleXRadius, mCircleYRadius, mMaintainEqualCircle, mCircleRadii);
+		if (mGeometryDirty || circleChanged) {
+			mCircleWidth = mCircleRadii[0];
+			mCircleHeight = mCircleRadii[1];
+			recalculateAll();
+		}
+	}
+
+	@Override
+	protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+		super.onSizeChanged(w, h, oldw, oldh);
+		// The cached bitmaps are centered in the View, so they are redrawn even if the circle kept its size
+		mBackgroundDirty = true;
+		mGlowDirty = true;
+	}
+
+	/**
+	 * Get whether the pointer locks at zero and max.
+	 * @return Boolean value of true if the pointer locks at zero and max, false if it does not.
+	 */
+	public boolean isLockEnabled() {
+		return lockEnabled;
+	}
+
+	/**
+	 * Set whether the pointer locks at zero and max or not.
+	 * @param boolean value. True if the pointer should lock at zero and max, false if it should not.
+	 */
+	public void setLockEnabled(boolean lockEnabled) {
+		this.lockEnabled = lockEnabled;
+	}
+
+	@Override
+	public boolean onTouchEvent(MotionEvent event) {
+		if (mMetrics != null) {
+			mMetrics.recordTouchEvent();
+		}
+		if (!sTraceEnabled) {
+			return handleTouchEvent(event);
+		}
+		Trace.beginSection(TRACE_ON_TOUCH_EVENT);
+		try {
+			return handleTouchEvent(event);
+		} finally {
+			Trace.endSection();
+		}
+	}
+
+	/**
+	 * Handle a touch event. Called by {@link #onTouchEvent(MotionEvent)}.
+	 * @param event The touch event.
+	 * @return True if the event was handled, false otherwise.
+	 */
+	protected boolean handleTouchEvent(MotionEvent event) {
+		if(!isTouchEnabled || mGaugeMode){
+			return false;
+		}
+
+		// Offset to convert coordinates to our internal coordinate system
+		float offsetX = getWidth() / 2;
+		float offsetY = getHeight() / 2;
+
+		if (mFlingEnabled) {
+			if (mVelocityTracker == null) {
+				mVelocityTracker = VelocityTracker.obtain();
+			}
+			if (event.getActionMasked() == MotionEvent.ACTION_DOWN) {
+				mVelocityTracker.clear();
+			}
+			mVelocityTracker.addMovement(event);
+		}
+
+		switch (event.getActionMasked()) {
+		case MotionEvent.ACTION_DOWN:
+		case MotionEvent.ACTION_POINTER_DOWN:
+			if (event.getActionMasked() == MotionEvent.ACTION_DOWN) {
+				// A new gesture, so no finger can still be moving a pointer
+				mThumbPointerIds[THUMB_PROGRESS] = INVALID_POINTER_ID;
+				mThumbPointerIds[THUMB_RANGE_START] = INVALID_POINTER_ID;
+				mUserIsMovingPointer = false;
+				stopFling();
+				stopProgressAnimation();
+				syncPreciseProgress();
+				resetTickFeedback();
+			}
+			int downIndex = event.getActionIndex();
+			int touchResult = handleDownSample(event.getPointerId(downIndex), event.getX(downIndex) - offsetX, event.getY(downIndex) - offsetY);
+			if (touchResult == TOUCH_MISSED) {
+				if (!mUserIsMovingPointer) {
+					return false;
+				}
+				break; // Another finger is still moving a pointer
+			}
+
+			updatePointerHaloPaint(true);
+			recalculateProgress();
+			invalidateProgress();
+			if (!mUserIsMovingPointer && mOnCircularSeekBarChangeListener != null) {
+				long listenerStartTime = startListenerTiming();
+				try {
+					mOnCircularSeekBarChangeListener.onStartTrackingTouch(this);
+				} finally {
+					endListenerTiming(listenerStartTime);
+				}
+			}
+			if (touchResult == TOUCH_ON_CIRCLE) {
+				performTickFeedback(mActiveThumb);
+				dispatchThumbChanged(mActiveThumb, true);
+			}
+			mUserIsMovingPointer = true;
+			break;
+		case MotionEvent.ACTION_MOVE:
+			if (mUserIsMovingPointer) {
+				boolean progressUpdated = false;
+				boolean rangeStartUpdated = false;
+				int historySize = event.getHistorySize();
+				for (int thumb = 0; thumb < THUMB_COUNT; thumb++) {
+					int pointerIndex = (mThumbPointerIds[thumb] == INVALID_POINTER_ID ? -1 : event.findPointerIndex(mThumbPointerIds[thumb]));
+					if (pointerIndex < 0) {
+						continue;
+					}
+
+					// Samples batched into this event are processed in order, so fast movements
+					// update the lock state correctly. The geometry is only recalculated once.
+					mActiveThumb = thumb;
+					boolean thumbUpdated = false;
+					for (int h = 0; h < historySize; h++) {
+						thumbUpdated |= handleMoveSample(event.getHistoricalX(pointerIndex, h) - offsetX, event.getHistoricalY(pointerIndex, h) - offsetY);
+					}
+					thumbUpdated |= handleMoveSample(event.getX(pointerIndex) - offsetX, event.getY(pointerIndex) - offsetY);
+
+					if (thumb == THUMB_PROGRESS) {
+						if (mLastProgressTouchXY == null) {
+							mLastProgressTouchXY = new float[2];
+						}
+						mLastProgressTouchXY[0] = event.getX(pointerIndex) - offsetX;
+						mLastProgressTouchXY[1] = event.getY(pointerIndex) - offsetY;
+						progressUpdated = thumbUpdated;
+					} else {
+						rangeStartUpdated = thumbUpdated;
+					}
+				}
+
+				if (progressUpdated || rangeStartUpdated) {
+					recalculateProgress();
+					invalidateProgress();
+					if (progressUpdated) {
+						performTickFeedback(THUMB_PROGRESS);
+					}
+					if (rangeStartUpdated) {
+						performTickFeedback(THUMB_RANGE_START);
+					}
+					dispatchThumbChanged(progressUpdated ? THUMB_PROGRESS : THUMB_RANGE_START, true);
+				}
+			} else {
+				return false;
+			}
+			break;
+		case MotionEvent.ACTION_POINTER_UP:
+			// Only the pointer moved by this finger is released
+			int upPointerId = event.getPointerId(event.getActionIndex());
+			if (upPointerId == mThumbPointerIds[THUMB_PROGRESS]) {
+				startFling(upPointerId);
+			}
+			for (int thumb = 0; thumb < THUMB_COUNT; thumb++) {
+				if (mThumbPointerIds[thumb] == upPointerId) {
+					mThumbPointerIds[thumb] = INVALID_POINTER_ID;
+					invalidateProgress();
+				}
+			}
+			if (mUserIsMovingPointer && mThumbPointerIds[THUMB_PROGRESS] == INVALID_POINTER_ID
+					&& mThumbPointerIds[THUMB_RANGE_START] == INVALID_POINTER_ID) {
+				stopTrackingTouch();
+			}
+			break;
+		case MotionEvent.ACTION_UP:
+			if (mThumbPointerIds[THUMB_PROGRESS] != INVALID_POINTER_ID) {
+				startFling(mThumbPointerIds[THUMB_PROGRESS]);
+			}
+			mThumbPointerIds[THUMB_PROGRESS] = INVALID_POINTER_ID;
+			mThumbPointerIds[THUMB_RANGE_START] = INVALID_POINTER_ID;
+			if (mUserIsMovingPointer) {
+				stopTrackingTouch();
+			} else {
+				updatePointerHaloPaint(false);
+				return false;
+			}
+			break;
+		case MotionEvent.ACTION_CANCEL: // Used when the parent view intercepts touches for things like scrolling
+			mThumbPointerIds[THUMB_PROGRESS] = INVALID_POINTER_ID;
+			mThumbPointerIds[THUMB_RANGE_START] = INVALID_POINTER_ID;
+			updatePointerHaloPaint(false);
+			mUserIsMovingPointer = false;
+			invalidateProgress();
+			flushProgressChanged();
+			break;
+		}
+
+		if (event.getActionMasked() == MotionEvent.ACTION_MOVE && getParent() != null) {
+			getParent().requestDisallowInterceptTouchEvent(true);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Start flinging the progress pointer with the angular velocity of the finger that was moving it.
+	 * Does nothing if flinging is disabled or the finger was moving too slowly.
+	 * @param pointerId The ID of the finger that was moving the progress pointer.
+	 */
+	protected void startFling(int pointerId) {
+		if (!mFlingEnabled || mVelocityTracker == null) {
+			return;
+		}
+		ViewConfiguration viewConfiguration = ViewConfiguration.get(getContext());
+		mVelocityTracker.computeCurrentVelocity(1000, viewConfiguration.getScaledMaximumFlingVelocity());
+		float velocityX = mVelocityTracker.getXVelocity(pointerId);
+		float velocityY = mVelocityTracker.getYVelocity(pointerId);
+		if ((velocityX * velocityX + velocityY * velocityY) < (float) viewConfiguration.getScaledMinimumFlingVelocity() * viewConfiguration.getScaledMinimumFlingVelocity()) {
+			return;
+		}
+
+		// Angular velocity is the cross product of the position and the velocity, divided by the squared radius
+		if (mLastProgressTouchXY == null) {
+			return;
+		}
+		float x = mLastProgressTouchXY[0];
+		float y = mLastProgressTouchXY[1];
+		float radiusSquared = x * x + y * y;
+		if (radiusSquared <= 0f) {
+			return;
+		}
+		float degreesPerSecond = (float) Math.toDegrees((x * velocityY - y * velocityX) / radiusSquared);
+
+		if (mFlingScroller == null) {
+			mFlingScroller = new OverScroller(getContext());
+		}
+		int start = Math.round(mProgressDegrees * FLING_UNITS_PER_DEGREE);
+		int velocity = Math.round(degreesPerSecond * FLING_UNITS_PER_DEGREE);
+		if (lockEnabled) {
+			// Stop at the start and end of the circle
+			mFlingScroller.fling(start, 0, velocity, 0, 0, Math.round(mTotalCircleDegrees * FLING_UNITS_PER_DEGREE), 0, 0);
+		} else {
+			// Pass through the start and end; the position wraps around in stepFling()
+			mFlingScroller.fling(start, 0, velocity, 0, Integer.MIN_VALUE / 2, Integer.MAX_VALUE / 2, 0, 0);
+		}
+		if (mFlingRunnable == null) {
+			mFlingRunnable = new Runnable() {
+				@Override
+				public void run() {
+					stepFling();
+				}
+			};
+		}
+		postOnAnimation(mFlingRunnable);
+	}
+
+	/**
+	 * Advance the fling by one frame. Only the progress-level geometry is recalculated.
+	 */
+	protected void stepFling() {
+		if (mFlingScroller == null) {
+			return;
 		}
-		else {
-			additionalRadius = mCircleStrokeWidth / 2; // Otherwise use the width
+		if (!mFlingScroller.computeScrollOffset()) {
+			dispatchPendingStopTrackingTouch();
+			return;
 		}
-		float outerRadius = Math.max(mCircleHeight, mCircleWidth) + additionalRadius; // Max outer radius of the circle, including the minimumTouchTarget or wheel width
-		float innerRadius = Math.min(mCircleHeight, mCircleWidth) - additionalRadius; // Min inner radius of the circle, including the minimumTouchTarget or wheel width
 
-		if (mPointerRadius < (minimumTouchTarget / 2)) { // If the pointer radius is less than the minimumTouchTarget, use the minimumTouchTarget
-			additionalRadius = minimumTouchTarget / 2;
+		float degrees = mFlingScroller.getCurrX() / FLING_UNITS_PER_DEGREE;
+		if (!lockEnabled) {
+			degrees = degrees % mTotalCircleDegrees;
+			degrees = (degrees < 0 ? mTotalCircleDegrees + degrees : degrees);
 		}
-		else {
-			additionalRadius = mPointerRadius; // Otherwise use the radius
+		int oldProgress = mProgress;
+		double oldPreciseProgress = mPreciseProgress;
+		setThumbProgress(THUMB_PROGRESS, calculateProgressForDegrees(degrees));
+		if (mPreciseProgress != oldPreciseProgress) {
+			recalculateProgress();
+			invalidateProgress();
+			performTickFeedback(THUMB_PROGRESS);
+			if (mProgress != oldProgress) {
+				dispatchThumbChanged(THUMB_PROGRESS, true);
+			} else {
+				dispatchPreciseProgressChanged(true);
+			}
 		}
 
-		float touchAngle;
-		touchAngle = (float) ((java.lang.Math.atan2(y, x) / Math.PI * 180) % 360); // Verified
-		touchAngle = (touchAngle < 0 ? 360 + touchAngle : touchAngle); // Verified
+		if (!mFlingScroller.isFinished()) {
+			postOnAnimation(mFlingRunnable);
+		} else {
+			dispatchPendingStopTrackingTouch();
+		}
+	}
 
-		cwDistanceFromStart = touchAngle - mStartAngle; // Verified
-		cwDistanceFromStart = (cwDistanceFromStart < 0 ? 360f + cwDistanceFromStart : cwDistanceFromStart); // Verified
-		ccwDistanceFromStart = 360f - cwDistanceFromStart; // Verified
+	/**
+	 * Stop a running fling, leaving the progress where it is.
+	 * Sends the {@code onStopTrackingTouch} that was waiting for the fling to end, if any.
+	 */
+	protected void stopFling() {
+		if (mFlingScroller != null && !mFlingScroller.isFinished()) {
+			mFlingScroller.forceFinished(true);
+		}
+		if (mFlingRunnable != null) {
+			removeCallbacks(mFlingRunnable);
+		}
+		dispatchPendingStopTrackingTouch();
+	}
 
-		cwDistanceFromEnd = touchAngle - mEndAngle; // Verified
-		cwDistanceFromEnd = (cwDistanceFromEnd < 0 ? 360f + cwDistanceFromEnd : cwDistanceFromEnd); // Verified
-		ccwDistanceFromEnd = 360f - cwDistanceFromEnd; // Verified
+	/**
+	 * @return True if the progress pointer is flinging.
+	 */
+	protected boolean isFlinging() {
+		return mFlingScroller != null && !mFlingScroller.isFinished();
+	}
 
-		switch (event.getAction()) {
-		case MotionEvent.ACTION_DOWN:
-			// These are only used for ACTION_DOWN for handling if the pointer was the part that was touched
-			float pointerRadiusDegrees = (float) ((mPointerRadius * 180) / (Math.PI * Math.max(mCircleHeight, mCircleWidth)));
-			cwDistanceFromPointer = touchAngle - mPointerPosition;
-			cwDistanceFromPointer = (cwDistanceFromPointer < 0 ? 360f + cwDistanceFromPointer : cwDistanceFromPointer);
-			ccwDistanceFromPointer = 360f - cwDistanceFromPointer;
-			// This is for if the first touch is on the actual pointer.
-			if (((touchEventRadius >= innerRadius) && (touchEventRadius <= outerRadius)) && ( (cwDistanceFromPointer <= pointerRadiusDegrees) || (ccwDistanceFromPointer <= pointerRadiusDegrees)) ) {
-				setProgressBasedOnAngle(mPointerPosition);
-				lastCWDistanceFromStart = cwDistanceFromStart;
-				mIsMovingCW = true;
-				mPointerHaloPaint.setAlpha(mPointerAlphaOnTouch);
-				mPointerHaloPaint.setColor(mPointerHaloColorOnTouch);
-				recalculateAll();
-				invalidate();
-				if (mOnCircularSeekBarChangeListener != null) {
-					mOnCircularSeekBarChangeListener.onStartTrackingTouch(this);
-				}
-				mUserIsMovingPointer = true;
-				lockAtEnd = false;
-				lockAtStart = false;
-			} else if (cwDistanceFromStart > mTotalCircleDegrees) { // If the user is touching outside of the start AND end
-				mUserIsMovingPointer = false;
-				return false;
-			} else if ((touchEventRadius >= innerRadius) && (touchEventRadius <= outerRadius)) { // If the user is touching near the circle
-				setProgressBasedOnAngle(touchAngle);
-				lastCWDistanceFromStart = cwDistanceFromStart;
-				mIsMovingCW = true;
-				mPointerHaloPaint.setAlpha(mPointerAlphaOnTouch);
-				mPointerHaloPaint.setColor(mPointerHaloColorOnTouch);
-				recalculateAll();
-				invalidate();
-				if (mOnCircularSeekBarChangeListener != null) {
-					mOnCircularSeekBarChangeListener.onStartTrackingTouch(this);
-					mOnCircularSeekBarChangeListener.onProgressChanged(this, mProgress, true);
-				}
-				mUserIsMovingPointer = true;
-				lockAtEnd = false;
-				lockAtStart = false;
-			} else { // If the user is not touching near the circle
-				mUserIsMovingPointer = false;
-				return false;
+	/**
+	 * Show the pointer halo with its touched or its resting alpha and color.
+	 * A halo paint shared with a style is copied the first time it is touched, without copying the other paints,
+	 * so touching a CircularSeekBar does not change the other instances or stop it sharing the rest of the style.
+	 * @param touched True if a pointer is being touched.
+	 */
+	protected void updatePointerHaloPaint(boolean touched) {
+		if (mPointerHaloPaint == null) {
+			return;
+		}
+		if (!mOwnsPointerHaloPaint) {
+			if (!touched) {
+				return; // The shared paint is never changed, so it is already at rest
 			}
-			break;
-		case MotionEvent.ACTION_MOVE:
-			if (mUserIsMovingPointer) {
-				if (lastCWDistanceFromStart < cwDistanceFromStart) {
-					if ((cwDistanceFromStart - lastCWDistanceFromStart) > 180f && !mIsMovingCW) {
-						lockAtStart = true;
-						lockAtEnd = false;
-					} else {
-						mIsMovingCW = true;
-					}
-				} else {
-					if ((lastCWDistanceFromStart - cwDistanceFromStart) > 180f && mIsMovingCW) {
-						lockAtEnd = true;
-						lockAtStart = false;
-					} else {
-						mIsMovingCW = false;
-					}
-				}
-
-				if (lockAtStart && mIsMovingCW) {
-					lockAtStart = false;
-				}
-				if (lockAtEnd && !mIsMovingCW) {
-					lockAtEnd = false;
-				}
-				if (lockAtStart && !mIsMovingCW && (ccwDistanceFromStart > 90)) {
-					lockAtStart = false;
-				}
-				if (lockAtEnd && mIsMovingCW && (cwDistanceFromEnd > 90)) {
-					lockAtEnd = false;
-				}
-				// Fix for passing the end of a semi-circle quickly
-				if (!lockAtEnd && cwDistanceFromStart > mTotalCircleDegrees && mIsMovingCW && lastCWDistanceFromStart < mTotalCircleDegrees) {
-					lockAtEnd = true;
-				}
+			mPointerHaloPaint = new Paint(mPointerHaloPaint);
+			mOwnsPointerHaloPaint = true;
+		}
+		mPointerHaloPaint.setAlpha(touched ? mPointerAlphaOnTouch : mPointerAlpha);
+		mPointerHaloPaint.setColor(touched ? mPointerHaloColorOnTouch : mPointerHaloColor);
+	}
 
-				if (lockAtStart && lockEnabled) {
-					// TODO: Add a check if mProgress is already 0, in which case don't call the listener
-					mProgress = 0;
-					recalculateAll();
-					invalidate();
-					if (mOnCircularSeekBarChangeListener != null) {
-						mOnCircularSeekBarChangeListener.onProgressChanged(this, mProgress, true);
-					}
+	/**
+	 * Called when the last finger moving a pointer is lifted.
+	 * Restores the pointer halo and notifies the listener, or if the pointer is flinging,
+	 * notifies the listener when the fling ends so that the final value is delivered before {@code onStopTrackingTouch}.
+	 */
+	protected void stopTrackingTouch() {
+		updatePointerHaloPaint(false);
+		mUserIsMovingPointer = false;
+		invalidateProgress();
+		if (isFlinging()) {
+			mStopTrackingTouchPending = true;
+		} else {
+			dispatchStopTrackingTouch();
+		}
+	}
 
-				} else if (lockAtEnd && lockEnabled) {
-					mProgress = mMax;
-					recalculateAll();
-					invalidate();
-					if (mOnCircularSeekBarChangeListener != null) {
-						mOnCircularSeekBarChangeListener.onProgressChanged(this, mProgress, true);
-					}
-				} else if ((mMoveOutsideCircle) || (touchEventRadius <= outerRadius)) {
-					if (!(cwDistanceFromStart > mTotalCircleDegrees)) {
-						setProgressBasedOnAngle(touchAngle);
-					}
-					recalculateAll();
-					invalidate();
-					if (mOnCircularSeekBarChangeListener != null) {
-						mOnCircularSeekBarChangeListener.onProgressChanged(this, mProgress, true);
-					}
-				} else {
-					break;
-				}
+	/**
+	 * Send the {@code onStopTrackingTouch} that was deferred by {@link #stopTrackingTouch()} until the fling ended.
+	 */
+	protected void dispatchPendingStopTrackingTouch() {
+		if (mStopTrackingTouchPending) {
+			dispatchStopTrackingTouch();
+		}
+	}
 
-				lastCWDistanceFromStart = cwDistanceFromStart;
-			} else {
-				return false;
+	/**
+	 * Deliver any coalesced progress change and then notify the listener that the user stopped tracking.
+	 */
+	protected void dispatchStopTrackingTouch() {
+		mStopTrackingTouchPending = false;
+		flushProgressChanged();
+		if (mOnCircularSeekBarChangeListener != null) {
+			long listenerStartTime = startListenerTiming();
+			try {
+				mOnCircularSeekBarChangeListener.onStopTrackingTouch(this);
+			} finally {
+				endListenerTiming(listenerStartTime);
 			}
-			break;
-		case MotionEvent.ACTION_UP:
-			mPointerHaloPaint.setAlpha(mPointerAlpha);
-			mPointerHaloPaint.setColor(mPointerHaloColor);
-			if (mUserIsMovingPointer) {
-				mUserIsMovingPointer = false;
-				invalidate();
-				if (mOnCircularSeekBarChangeListener != null) {
-					mOnCircularSeekBarChangeListener.onStopTrackingTouch(this);
-				}
-			} else {
-				return false;
+		}
+	}
+
+	/**
+	 * Process a finger touching down. If it touches the circle or a pointer that no other finger is
+	 * moving, that pointer is assigned to the finger. A touch on the circle moves the pointer to the touch,
+	 * a touch on the pointer leaves its progress unchanged.
+	 * Does not recalculate the geometry, invalidate or notify the listener.
+	 * @param pointerId The ID of the finger.
+	 * @param x X coordinate of the touch, relative to the center of the View.
+	 * @param y Y coordinate of the touch, relative to the center of the View.
+	 * @return One of {@code TOUCH_MISSED}, {@code TOUCH_ON_POINTER} or {@code TOUCH_ON_CIRCLE}.
+	 */
+	protected int handleDownSample(int pointerId, float x, float y) {
+		float touchAngle = updateTouchDistances(x, y);
+		boolean isTouchNearCircle = CircularSeekBarGeometry.isNearCircle(mTouchEventRadiusSquared, mTouchInnerRadiusSquared, mTouchOuterRadiusSquared);
+
+		// In range mode, the pointer closest to the touch is the one that moves, unless another finger is already moving it
+		int thumb = findNearestThumb(touchAngle);
+		if (mThumbPointerIds[thumb] != INVALID_POINTER_ID) {
+			thumb = (thumb == THUMB_PROGRESS ? THUMB_RANGE_START : THUMB_PROGRESS);
+			if (!mRangeEnabled || mThumbPointerIds[thumb] != INVALID_POINTER_ID) {
+				return TOUCH_MISSED;
 			}
-			break;
-		case MotionEvent.ACTION_CANCEL: // Used when the parent view intercepts touches for things like scrolling
-			mPointerHaloPaint.setAlpha(mPointerAlpha);
-			mPointerHaloPaint.setColor(mPointerHaloColor);
-			mUserIsMovingPointer = false;
-			invalidate();
-			break;
+		}
+		float pointerPosition = getThumbPointerPosition(thumb);
+
+		// These are only used for ACTION_DOWN for handling if the pointer was the part that was touched
+		float pointerRadiusDegrees = CircularSeekBarGeometry.lengthToDegrees(mPointerRadius,
+				CircularSeekBarGeometry.radiusAt(pointerPosition, mCircleWidth, mCircleHeight));
+		cwDistanceFromPointer = CircularSeekBarGeometry.clockwiseDistance(pointerPosition, touchAngle);
+		ccwDistanceFromPointer = 360f - cwDistanceFromPointer;
+
+		int touchResult;
+		// This is for if the first touch is on the actual pointer.
+		// The pointer stays where it is, so a value that is not on a tick or step is not snapped by just touching it
+		if (isTouchNearCircle && ( (cwDistanceFromPointer <= pointerRadiusDegrees) || (ccwDistanceFromPointer <= pointerRadiusDegrees)) ) {
+			touchResult = TOUCH_ON_POINTER;
+		} else if (cwDistanceFromStart > mTotalCircleDegrees) { // If the user is touching outside of the start AND end
+			return TOUCH_MISSED;
+		} else if (isTouchNearCircle) { // If the user is touching near the circle
+			setThumbProgressBasedOnAngle(thumb, touchAngle);
+			touchResult = TOUCH_ON_CIRCLE;
+		} else { // If the user is not touching near the circle
+			return TOUCH_MISSED;
 		}
 
-		if (event.getAction() == MotionEvent.ACTION_MOVE && getParent() != null) {
-			getParent().requestDisallowInterceptTouchEvent(true);
+		mActiveThumb = thumb;
+		if (mThumbGestures[thumb] == null) {
+			mThumbGestures[thumb] = new CircularSeekBarGesture();
 		}
+		mThumbGestures[thumb].start(cwDistanceFromStart);
+		mThumbPointerIds[thumb] = pointerId;
+		return touchResult;
+	}
+
+	/**
+	 * Calculate the touch angle, the squared distance from the center and the distances from the
+	 * start and end angles for a touch point. Sets mTouchEventRadiusSquared, cwDistanceFromStart,
+	 * ccwDistanceFromStart, cwDistanceFromEnd and ccwDistanceFromEnd.
+	 * @param x X coordinate of the touch, relative to the center of the View.
+	 * @param y Y coordinate of the touch, relative to the center of the View.
+	 * @return The touch angle in degrees.
+	 */
+	protected float updateTouchDistances(float x, float y) {
+		// Compared against the squared radii from calculateTouchRadii(), so no square root is needed
+		float touchAngle = CircularSeekBarGeometry.touchDistances(x, y, mStartAngle, mEndAngle, mTouchScratch);
+
+		cwDistanceFromStart = mTouchScratch[0];
+		ccwDistanceFromStart = 360f - cwDistanceFromStart;
+
+		cwDistanceFromEnd = mTouchScratch[1];
+		ccwDistanceFromEnd = 360f - cwDistanceFromEnd;
+
+		mTouchEventRadiusSquared = mTouchScratch[2];
+
+		return touchAngle;
+	}
 
+	/**
+	 * Process one touch sample of an ACTION_MOVE while the user is moving the pointer.
+	 * Updates the lock state and the progress, but does not recalculate the geometry or invalidate.
+	 * @param x X coordinate of the sample, relative to the center of the View.
+	 * @param y Y coordinate of the sample, relative to the center of the View.
+	 * @return True if the progress was updated by this sample, false if the sample was ignored.
+	 */
+	protected boolean handleMoveSample(float x, float y) {
+		float touchAngle = updateTouchDistances(x, y);
+		int result = mThumbGestures[mActiveThumb].move(cwDistanceFromStart, cwDistanceFromEnd, mTouchEventRadiusSquared,
+				mTouchOuterRadiusSquared, mMoveOutsideCircle, mTotalCircleDegrees, lockEnabled);
+		if (result == CircularSeekBarGesture.RESULT_AT_START) {
+			// Repeated values are filtered out when progress coalescing is enabled
+			setThumbProgress(mActiveThumb, 0);
+		} else if (result == CircularSeekBarGesture.RESULT_AT_END) {
+			syncPreciseProgress();
+			setThumbProgress(mActiveThumb, mPreciseMax);
+		} else if (result == CircularSeekBarGesture.RESULT_ON_ARC) {
+			setThumbProgressBasedOnAngle(mActiveThumb, touchAngle);
+		} else if (result == CircularSeekBarGesture.RESULT_REJECTED) {
+			return false;
+		}
 		return true;
 	}
 
 	protected void init(AttributeSet attrs, int defStyle) {
-		final TypedArray attrArray = getContext().obtainStyledAttributes(attrs, R.styleable.CircularSeekBar, defStyle, 0);
+		loadAttributes(attrs, defStyle);
+		initPaints();
+	}
 
-		initAttributes(attrArray);
+	/**
+	 * Set the fields from the XML attributes, or from the defaults for the ones that are not specified.
+	 * @param attrs The attributes from XML, or null.
+	 * @param defStyle The default style attribute.
+	 */
+	protected void loadAttributes(AttributeSet attrs, int defStyle) {
+		if (getClass() == CircularSeekBar.class) {
+			// Inflating the same layout again reuses the parsed attributes
+			applyAttributes(CircularSeekBarAttributes.obtain(getContext(), attrs, defStyle, DPTOPX_SCALE));
+		} else {
+			// Subclasses may override initAttributes(), so always parse for them
+			final TypedArray attrArray = getContext().obtainStyledAttributes(attrs, R.styleable.CircularSeekBar, defStyle, 0);
 
-		attrArray.recycle();
+			initAttributes(attrArray);
 
-		initPaints();
+			attrArray.recycle();
+		}
 	}
 
 	public CircularSeekBar(Context context) {
@@ -844,55 +2848,373 @@ public class CircularSeekBar extends View {
 		init(attrs, defStyle);
 	}
 
+	public CircularSeekBar(Context context, CircularSeekBarStyle style) {
+		super(context);
+		// The Paint objects come from the style, so do not create our own
+		loadAttributes(null, 0);
+		setStyle(style);
+	}
+
+	/**
+	 * Use a shared style. This instance uses the {@code Paint} objects of the style instead of its own,
+	 * until one of its setters changes a color. The style is not saved with the instance state.
+	 * @param style The style to use.
+	 */
+	public void setStyle(CircularSeekBarStyle style) {
+		// These sizes are part of the circle size calculated in onMeasure()
+		boolean layoutChanged = mCircleStrokeWidth != style.mCircleStrokeWidth
+				|| mPointerRadius != style.mPointerRadius
+				|| mPointerHaloBorderWidth != style.mPointerHaloBorderWidth;
+
+		mCircleColor = style.mCircleColor;
+		mCircleFillColor = style.mCircleFillColor;
+		mCircleProgressColor = style.mCircleProgressColor;
+		mPointerColor = style.mPointerColor;
+		mPointerHaloColor = style.mPointerHaloColor;
+		mPointerHaloColorOnTouch = style.mPointerHaloColorOnTouch;
+		mPointerAlpha = style.mPointerAlpha;
+		mPointerAlphaOnTouch = style.mPointerAlphaOnTouch;
+		mTickColor = style.mTickColor;
+		mCircleStrokeWidth = style.mCircleStrokeWidth;
+		mPointerRadius = style.mPointerRadius;
+		mPointerHaloWidth = style.mPointerHaloWidth;
+		mPointerHaloBorderWidth = style.mPointerHaloBorderWidth;
+
+		mStyle = style;
+		mCirclePaint = style.mCirclePaint;
+		mCircleFillPaint = style.mCircleFillPaint;
+		mCircleProgressPaint = style.mCircleProgressPaint;
+		mTickPaint = style.mTickPaint;
+		if (mGaugeMode) {
+			mPointerPaint = null;
+			mPointerHaloPaint = null;
+			mPointerHaloBorderPaint = null;
+		} else if (style.mPointerPaint != null) {
+			mPointerPaint = style.mPointerPaint;
+			mPointerHaloPaint = style.mPointerHaloPaint;
+			mOwnsPointerHaloPaint = false;
+			mPointerHaloBorderPaint = style.mPointerHaloBorderPaint;
+		} else {
+			initPointerPaints();
+		}
+		mProgressShader = null;
+		initGlowPaints();
+
+		mBackgroundDirty = true;
+		if (layoutChanged) {
+			requestLayout();
+		}
+		recalculateAll();
+		invalidate();
+	}
+
+	/**
+	 * Get the style of this instance, to share it with other instances with {@link #setStyle(CircularSeekBarStyle)}.
+	 * @return The shared style in use, or a new style with the current colors and sizes.
+	 */
+	public CircularSeekBarStyle getStyle() {
+		return (mStyle != null ? mStyle : new CircularSeekBarStyle(this));
+	}
+
 	@Override
 	protected Parcelable onSaveInstanceState() {
 		Parcelable superState = super.onSaveInstanceState();
 
-		Bundle state = new Bundle();
-		state.putParcelable("PARENT", superState);
-		state.putInt("MAX", mMax);
-		state.putInt("PROGRESS", mProgress);
-		state.putInt("mCircleColor", mCircleColor);
-		state.putInt("mCircleProgressColor", mCircleProgressColor);
-		state.putInt("mPointerColor", mPointerColor);
-		state.putInt("mPointerHaloColor", mPointerHaloColor);
-		state.putInt("mPointerHaloColorOnTouch", mPointerHaloColorOnTouch);
-		state.putInt("mPointerAlpha", mPointerAlpha);
-		state.putInt("mPointerAlphaOnTouch", mPointerAlphaOnTouch);
-		state.putBoolean("lockEnabled", lockEnabled);
-		state.putBoolean("isTouchEnabled", isTouchEnabled);
+		SavedState state = new SavedState(superState);
+		state.mMax = mMax;
+		state.mProgress = mProgress;
+		state.mCircleColor = mCircleColor;
+		state.mCircleProgressColor = mCircleProgressColor;
+		state.mCircleFillColor = mCircleFillColor;
+		state.mPointerColor = mPointerColor;
+		state.mPointerHaloColor = mPointerHaloColor;
+		state.mPointerHaloColorOnTouch = mPointerHaloColorOnTouch;
+		state.mPointerAlpha = mPointerAlpha;
+		state.mPointerAlphaOnTouch = mPointerAlphaOnTouch;
+		state.mTickColor = mTickColor;
+		state.mGlowStyle = mGlowStyle;
+		state.mProgressAnimationDuration = mProgressAnimationDuration;
+		state.mTickCount = mTickCount;
+		state.mFlags = (lockEnabled ? SavedState.FLAG_LOCK_ENABLED : 0)
+				| (isTouchEnabled ? SavedState.FLAG_TOUCH_ENABLED : 0)
+				| (mGaugeMode ? SavedState.FLAG_GAUGE_MODE : 0)
+				| (mBackgroundCacheEnabled ? SavedState.FLAG_BACKGROUND_CACHE_ENABLED : 0)
+				| (mProgressCoalescingEnabled ? SavedState.FLAG_PROGRESS_COALESCING_ENABLED : 0)
+				| (mRangeEnabled ? SavedState.FLAG_RANGE_ENABLED : 0)
+				| (mFlingEnabled ? SavedState.FLAG_FLING_ENABLED : 0)
+				| (mTickMarksEnabled ? SavedState.FLAG_TICK_MARKS_ENABLED : 0)
+				| (mTickHapticFeedbackEnabled ? SavedState.FLAG_TICK_HAPTIC_FEEDBACK_ENABLED : 0)
+				| (mCustomRadii ? SavedState.FLAG_CUSTOM_RADII : 0)
+				| (mMaintainEqualCircle ? SavedState.FLAG_MAINTAIN_EQUAL_CIRCLE : 0)
+				| (mMoveOutsideCircle ? SavedState.FLAG_MOVE_OUTSIDE_CIRCLE : 0);
+		state.mStartAngle = mStartAngle;
+		state.mEndAngle = mEndAngle;
+		state.mCircleXRadius = mCircleXRadius;
+		state.mCircleYRadius = mCircleYRadius;
+		state.mCircleStrokeWidth = mCircleStrokeWidth;
+		state.mPointerRadius = mPointerRadius;
+		state.mPointerHaloWidth = mPointerHaloWidth;
+		state.mPointerHaloBorderWidth = mPointerHaloBorderWidth;
+		state.mPreciseMax = mPreciseMax;
+		state.mPreciseProgress = mPreciseProgress;
+		state.mProgressStep = mProgressStep;
+		state.mRangeStartProgress = mRangeStartProgress;
+		state.mProgressGradientColors = mProgressGradientColors;
+		state.mProgressGradientPositions = mProgressGradientPositions;
 
 		return state;
 	}
 
 	@Override
 	protected void onRestoreInstanceState(Parcelable state) {
-		Bundle savedState = (Bundle) state;
-
-		Parcelable superState = savedState.getParcelable("PARENT");
-		super.onRestoreInstanceState(superState);
-
-		mMax = savedState.getInt("MAX");
-		mProgress = savedState.getInt("PROGRESS");
-		mCircleColor = savedState.getInt("mCircleColor");
-		mCircleProgressColor = savedState.getInt("mCircleProgressColor");
-		mPointerColor = savedState.getInt("mPointerColor");
-		mPointerHaloColor = savedState.getInt("mPointerHaloColor");
-		mPointerHaloColorOnTouch = savedState.getInt("mPointerHaloColorOnTouch");
-		mPointerAlpha = savedState.getInt("mPointerAlpha");
-		mPointerAlphaOnTouch = savedState.getInt("mPointerAlphaOnTouch");
-		lockEnabled = savedState.getBoolean("lockEnabled");
-		isTouchEnabled = savedState.getBoolean("isTouchEnabled");
+		if (!(state instanceof SavedState)) {
+			super.onRestoreInstanceState(state);
+			return;
+		}
+		SavedState savedState = (SavedState) state;
+		super.onRestoreInstanceState(savedState.getSuperState());
+
+		boolean gaugeMode = (savedState.mFlags & SavedState.FLAG_GAUGE_MODE) != 0;
+		boolean customRadii = (savedState.mFlags & SavedState.FLAG_CUSTOM_RADII) != 0;
+		boolean maintainEqualCircle = (savedState.mFlags & SavedState.FLAG_MAINTAIN_EQUAL_CIRCLE) != 0;
+
+		// Only rebuild what the restored values actually change
+		boolean paintsChanged = mCircleColor != savedState.mCircleColor
+				|| mCircleProgressColor != savedState.mCircleProgressColor
+				|| mCircleFillColor != savedState.mCircleFillColor
+				|| mPointerColor != savedState.mPointerColor
+				|| mPointerHaloColor != savedState.mPointerHaloColor
+				|| mPointerAlpha != savedState.mPointerAlpha
+				|| mTickColor != savedState.mTickColor
+				|| mCircleStrokeWidth != savedState.mCircleStrokeWidth
+				|| mPointerRadius != savedState.mPointerRadius
+				|| mPointerHaloWidth != savedState.mPointerHaloWidth
+				|| mPointerHaloBorderWidth != savedState.mPointerHaloBorderWidth
+				|| mGaugeMode != gaugeMode;
+		boolean glowChanged = mGlowStyle != savedState.mGlowStyle;
+		boolean layoutChanged = mCircleXRadius != savedState.mCircleXRadius
+				|| mCircleYRadius != savedState.mCircleYRadius
+				|| mCircleStrokeWidth != savedState.mCircleStrokeWidth
+				|| mPointerRadius != savedState.mPointerRadius
+				|| mPointerHaloBorderWidth != savedState.mPointerHaloBorderWidth
+				|| mCustomRadii != customRadii
+				|| mMaintainEqualCircle != maintainEqualCircle;
+		boolean geometryChanged = layoutChanged
+				|| mStartAngle != savedState.mStartAngle
+				|| mEndAngle != savedState.mEndAngle
+				|| mTickCount != savedState.mTickCount;
+		boolean gradientChanged = !Arrays.equals(mProgressGradientColors, savedState.mProgressGradientColors)
+				|| !Arrays.equals(mProgressGradientPositions, savedState.mProgressGradientPositions);
+
+		mMax = savedState.mMax;
+		mProgress = savedState.mProgress;
+		mCircleColor = savedState.mCircleColor;
+		mCircleProgressColor = savedState.mCircleProgressColor;
+		mCircleFillColor = savedState.mCircleFillColor;
+		mPointerColor = savedState.mPointerColor;
+		mPointerHaloColor = savedState.mPointerHaloColor;
+		mPointerHaloColorOnTouch = savedState.mPointerHaloColorOnTouch;
+		mPointerAlpha = savedState.mPointerAlpha;
+		mPointerAlphaOnTouch = savedState.mPointerAlphaOnTouch;
+		mTickColor = savedState.mTickColor;
+		mGlowStyle = savedState.mGlowStyle;
+		mProgressAnimationDuration = savedState.mProgressAnimationDuration;
+		mTickCount = savedState.mTickCount;
+		lockEnabled = (savedState.mFlags & SavedState.FLAG_LOCK_ENABLED) != 0;
+		isTouchEnabled = (savedState.mFlags & SavedState.FLAG_TOUCH_ENABLED) != 0;
+		mGaugeMode = gaugeMode;
+		mBackgroundCacheEnabled = (savedState.mFlags & SavedState.FLAG_BACKGROUND_CACHE_ENABLED) != 0;
+		mProgressCoalescingEnabled = (savedState.mFlags & SavedState.FLAG_PROGRESS_COALESCING_ENABLED) != 0;
+		mRangeEnabled = (savedState.mFlags & SavedState.FLAG_RANGE_ENABLED) != 0;
+		mFlingEnabled = (savedState.mFlags & SavedState.FLAG_FLING_ENABLED) != 0;
+		mTickMarksEnabled = (savedState.mFlags & SavedState.FLAG_TICK_MARKS_ENABLED) != 0;
+		mTickHapticFeedbackEnabled = (savedState.mFlags & SavedState.FLAG_TICK_HAPTIC_FEEDBACK_ENABLED) != 0;
+		mCustomRadii = customRadii;
+		mMaintainEqualCircle = maintainEqualCircle;
+		mMoveOutsideCircle = (savedState.mFlags & SavedState.FLAG_MOVE_OUTSIDE_CIRCLE) != 0;
+		mStartAngle = savedState.mStartAngle;
+		mEndAngle = savedState.mEndAngle;
+		mCircleXRadius = savedState.mCircleXRadius;
+		mCircleYRadius = savedState.mCircleYRadius;
+		mCircleStrokeWidth = savedState.mCircleStrokeWidth;
+		mPointerRadius = savedState.mPointerRadius;
+		mPointerHaloWidth = savedState.mPointerHaloWidth;
+		mPointerHaloBorderWidth = savedState.mPointerHaloBorderWidth;
+		mPreciseMax = savedState.mPreciseMax;
+		mPreciseProgress = savedState.mPreciseProgress;
+		mProgressStep = savedState.mProgressStep;
+		mRangeStartProgress = savedState.mRangeStartProgress;
+		mProgressGradientColors = savedState.mProgressGradientColors;
+		mProgressGradientPositions = savedState.mProgressGradientPositions;
+
+		if (paintsChanged) {
+			initPaints();
+			mBackgroundDirty = true;
+			mGlowDirty = true;
+		} else if (glowChanged) {
+			initGlowPaints();
+			mGlowDirty = true;
+		}
+		if (gradientChanged) {
+			mProgressShaderDirty = true;
+		}
 
-		initPaints();
+		if (layoutChanged) {
+			requestLayout();
+		}
+		if (geometryChanged) {
+			recalculateAll();
+		} else {
+			recalculateProgress();
+		}
+		invalidate();
+	}
 
-		recalculateAll();
+	/**
+	 * The saved state of a CircularSeekBar. Values are written to the {@code Parcel} in a fixed order,
+	 * with the boolean settings packed into {@code mFlags}.
+	 */
+	protected static class SavedState extends BaseSavedState {
+
+		static final int FLAG_LOCK_ENABLED = 1;
+		static final int FLAG_TOUCH_ENABLED = 1 << 1;
+		static final int FLAG_GAUGE_MODE = 1 << 2;
+		static final int FLAG_BACKGROUND_CACHE_ENABLED = 1 << 3;
+		static final int FLAG_PROGRESS_COALESCING_ENABLED = 1 << 4;
+		static final int FLAG_RANGE_ENABLED = 1 << 5;
+		static final int FLAG_FLING_ENABLED = 1 << 6;
+		static final int FLAG_TICK_MARKS_ENABLED = 1 << 7;
+		static final int FLAG_TICK_HAPTIC_FEEDBACK_ENABLED = 1 << 8;
+		static final int FLAG_CUSTOM_RADII = 1 << 9;
+		static final int FLAG_MAINTAIN_EQUAL_CIRCLE = 1 << 10;
+		static final int FLAG_MOVE_OUTSIDE_CIRCLE = 1 << 11;
+
+		int mMax;
+		int mProgress;
+		int mCircleColor;
+		int mCircleProgressColor;
+		int mCircleFillColor;
+		int mPointerColor;
+		int mPointerHaloColor;
+		int mPointerHaloColorOnTouch;
+		int mPointerAlpha;
+		int mPointerAlphaOnTouch;
+		int mTickColor;
+		int mGlowStyle;
+		int mProgressAnimationDuration;
+		int mTickCount;
+		int mFlags;
+		float mStartAngle;
+		float mEndAngle;
+		float mCircleXRadius;
+		float mCircleYRadius;
+		float mCircleStrokeWidth;
+		float mPointerRadius;
+		float mPointerHaloWidth;
+		float mPointerHaloBorderWidth;
+		double mPreciseMax;
+		double mPreciseProgress;
+		double mProgressStep;
+		double mRangeStartProgress;
+		int[] mProgressGradientColors;
+		float[] mProgressGradientPositions;
+
+		SavedState(Parcelable superState) {
+			super(superState);
+		}
+
+		SavedState(Parcel source) {
+			super(source);
+			mMax = source.readInt();
+			mProgress = source.readInt();
+			mCircleColor = source.readInt();
+			mCircleProgressColor = source.readInt();
+			mCircleFillColor = source.readInt();
+			mPointerColor = source.readInt();
+			mPointerHaloColor = source.readInt();
+			mPointerHaloColorOnTouch = source.readInt();
+			mPointerAlpha = source.readInt();
+			mPointerAlphaOnTouch = source.readInt();
+			mTickColor = source.readInt();
+			mGlowStyle = source.readInt();
+			mProgressAnimationDuration = source.readInt();
+			mTickCount = source.readInt();
+			mFlags = source.readInt();
+			mStartAngle = source.readFloat();
+			mEndAngle = source.readFloat();
+			mCircleXRadius = source.readFloat();
+			mCircleYRadius = source.readFloat();
+			mCircleStrokeWidth = source.readFloat();
+			mPointerRadius = source.readFloat();
+			mPointerHaloWidth = source.readFloat();
+			mPointerHaloBorderWidth = source.readFloat();
+			mPreciseMax = source.readDouble();
+			mPreciseProgress = source.readDouble();
+			mProgressStep = source.readDouble();
+			mRangeStartProgress = source.readDouble();
+			mProgressGradientColors = source.createIntArray();
+			mProgressGradientPositions = source.createFloatArray();
+		}
+
+		@Override
+		public void writeToParcel(Parcel dest, int flags) {
+			super.writeToParcel(dest, flags);
+			dest.writeInt(mMax);
+			dest.writeInt(mProgress);
+			dest.writeInt(mCircleColor);
+			dest.writeInt(mCircleProgressColor);
+			dest.writeInt(mCircleFillColor);
+			dest.writeInt(mPointerColor);
+			dest.writeInt(mPointerHaloColor);
+			dest.writeInt(mPointerHaloColorOnTouch);
+			dest.writeInt(mPointerAlpha);
+			dest.writeInt(mPointerAlphaOnTouch);
+			dest.writeInt(mTickColor);
+			dest.writeInt(mGlowStyle);
+			dest.writeInt(mProgressAnimationDuration);
+			dest.writeInt(mTickCount);
+			dest.writeInt(mFlags);
+			dest.writeFloat(mStartAngle);
+			dest.writeFloat(mEndAngle);
+			dest.writeFloat(mCircleXRadius);
+			dest.writeFloat(mCircleYRadius);
+			dest.writeFloat(mCircleStrokeWidth);
+			dest.writeFloat(mPointerRadius);
+			dest.writeFloat(mPointerHaloWidth);
+			dest.writeFloat(mPointerHaloBorderWidth);
+			dest.writeDouble(mPreciseMax);
+			dest.writeDouble(mPreciseProgress);
+			dest.writeDouble(mProgressStep);
+			dest.writeDouble(mRangeStartProgress);
+			dest.writeIntArray(mProgressGradientColors);
+			dest.writeFloatArray(mProgressGradientPositions);
+		}
+
+		public static final Parcelable.Creator<SavedState> CREATOR = new Parcelable.Creator<SavedState>() {
+			@Override
+			public SavedState createFromParcel(Parcel source) {
+				return new SavedState(source);
+			}
+
+			@Override
+			public SavedState[] newArray(int size) {
+				return new SavedState[size];
+			}
+		};
 	}
 
 	public void setOnSeekBarChangeListener(OnCircularSeekBarChangeListener l) {
 		mOnCircularSeekBarChangeListener = l;
 	}
 
+	public void setOnPreciseSeekBarChangeListener(OnCircularSeekBarPreciseChangeListener l) {
+		mOnCircularSeekBarPreciseChangeListener = l;
+	}
+
+	public void setOnRangeChangeListener(OnCircularSeekBarRangeChangeListener l) {
+		mOnCircularSeekBarRangeChangeListener = l;
+	}
+
 	/**
 	* Listener for the CircularSeekBar. Implements the same methods as the normal OnSeekBarChangeListener.
 	*/
@@ -905,13 +3227,34 @@ public class CircularSeekBar extends View {
 		public abstract void onStartTrackingTouch(CircularSeekBar seekBar);
 	}
 
+	/**
+	* Listener for high resolution progress changes of the CircularSeekBar.
+	* The progress is passed as a primitive, so nothing is allocated per callback.
+	* Start and stop tracking events are delivered to the {@code OnCircularSeekBarChangeListener}.
+	*/
+	public interface OnCircularSeekBarPreciseChangeListener {
+
+		public abstract void onPreciseProgressChanged(CircularSeekBar circularSeekBar, double progress, boolean fromUser);
+	}
+
+	/**
+	* Listener for range changes of the CircularSeekBar in range mode.
+	* Called when either pointer moves. The end of the range is the same as the progress.
+	*/
+	public interface OnCircularSeekBarRangeChangeListener {
+
+		public abstract void onRangeChanged(CircularSeekBar circularSeekBar, int rangeStart, int rangeEnd, boolean fromUser);
+	}
+
 	/**
 	 * Sets the circle color.
 	 * @param color the color of the circle
 	 */
 	public void setCircleColor(int color) {
 		mCircleColor = color;
+		ensureOwnPaints();
 		mCirclePaint.setColor(mCircleColor);
+		mBackgroundDirty = true;
 		invalidate();
 	}
 
@@ -929,7 +3272,9 @@ public class CircularSeekBar extends View {
 	 */
 	public void setCircleProgressColor(int color) {
 		mCircleProgressColor = color;
+		ensureOwnPaints();
 		mCircleProgressPaint.setColor(mCircleProgressColor);
+		initGlowPaints();
 		invalidate();
 	}
 
@@ -947,7 +3292,10 @@ public class CircularSeekBar extends View {
 	 */
 	public void setPointerColor(int color) {
 		mPointerColor = color;
-		mPointerPaint.setColor(mPointerColor);
+		ensureOwnPaints();
+		if (mPointerPaint != null) {
+			mPointerPaint.setColor(mPointerColor);
+		}
 		invalidate();
 	}
 
@@ -965,7 +3313,10 @@ public class CircularSeekBar extends View {
 	 */
 	public void setPointerHaloColor(int color) {
 		mPointerHaloColor = color;
-		mPointerHaloPaint.setColor(mPointerHaloColor);
+		ensureOwnPaints();
+		if (mPointerHaloPaint != null) {
+			mPointerHaloPaint.setColor(mPointerHaloColor);
+		}
 		invalidate();
 	}
 
@@ -984,7 +3335,10 @@ public class CircularSeekBar extends View {
 	public void setPointerAlpha(int alpha) {
 		if (alpha >=0 && alpha <= 255) {
 			mPointerAlpha = alpha;
-			mPointerHaloPaint.setAlpha(mPointerAlpha);
+			ensureOwnPaints();
+			if (mPointerHaloPaint != null) {
+				mPointerHaloPaint.setAlpha(mPointerAlpha);
+			}
 			invalidate();
 		}
 	}
@@ -1021,7 +3375,9 @@ public class CircularSeekBar extends View {
 	 */
 	public void setCircleFillColor(int color) {
 		mCircleFillColor = color;
+		ensureOwnPaints();
 		mCircleFillPaint.setColor(mCircleFillColor);
+		mBackgroundDirty = true;
 		invalidate();
 	}
 
@@ -1042,15 +3398,13 @@ public class CircularSeekBar extends View {
 	public void setMax(int max) {
 		if (!(max <= 0)) { // Check to make sure it's greater than zero
 			if (max <= mProgress) {
-				mProgress = 0; // If the new max is less than current progress, set progress to zero
-				if (mOnCircularSeekBarChangeListener != null) {
-					mOnCircularSeekBarChangeListener.onProgressChanged(this, mProgress, false);
-				}
+				setProgressInternal(0); // If the new max is less than current progress, set progress to zero
+				dispatchThumbChanged(THUMB_PROGRESS, false);
 			}
 			mMax = max;
+			mPreciseMax = max;
 
-			recalculateAll();
-			invalidate();
+			requestProgressUpdate();
 		}
 	}
 
@@ -1078,4 +3432,238 @@ public class CircularSeekBar extends View {
 		return isTouchEnabled;
 	}
 
+	/**
+	 * Set whether the CircularSeekBar is a read-only gauge. In gauge mode touch input is ignored,
+	 * no pointer is drawn and the pointer {@code Paint} objects are released, and programmatic
+	 * progress changes are redrawn at most once per frame. Use this for many read-only instances, for example in a list.
+	 * @param boolean value. True to use gauge mode, false for a normal CircularSeekBar.
+	 */
+	public void setGaugeMode(boolean gaugeMode) {
+		if (mGaugeMode == gaugeMode) {
+			return;
+		}
+		mGaugeMode = gaugeMode;
+		if (gaugeMode) {
+			stopFling();
+			mThumbPointerIds[THUMB_PROGRESS] = INVALID_POINTER_ID;
+			mThumbPointerIds[THUMB_RANGE_START] = INVALID_POINTER_ID;
+			mUserIsMovingPointer = false;
+			flushProgressChanged();
+			if (mVelocityTracker != null) {
+				mVelocityTracker.recycle();
+				mVelocityTracker = null;
+			}
+			mPointerPaint = null;
+			mPointerHaloPaint = null;
+			mPointerHaloBorderPaint = null;
+		} else if (mStyle != null && mStyle.mPointerPaint != null) {
+			mPointerPaint = mStyle.mPointerPaint;
+			mPointerHaloPaint = mStyle.mPointerHaloPaint;
+			mOwnsPointerHaloPaint = false;
+			mPointerHaloBorderPaint = mStyle.mPointerHaloBorderPaint;
+		} else {
+			initPointerPaints();
+		}
+		invalidate();
+	}
+
+	/**
+	 * Get whether the CircularSeekBar is a read-only gauge.
+	 * @return Boolean value of true if gauge mode is used, false if it is not.
+	 */
+	public boolean isGaugeMode() {
+		return mGaugeMode;
+	}
+
+	/**
+	 * Enable performance metrics by setting the object that collects them, or disable them with null.
+	 * The same object can be set on several instances to collect totals.
+	 * @param metrics The object that collects the metrics, or null.
+	 */
+	public void setMetrics(CircularSeekBarMetrics metrics) {
+		mMetrics = metrics;
+	}
+
+	/**
+	 * Get the object that collects the performance metrics.
+	 * @return The object that collects the metrics, or null if they are disabled.
+	 */
+	public CircularSeekBarMetrics getMetrics() {
+		return mMetrics;
+	}
+
+	/**
+	 * Set whether all CircularSeekBar instances emit trace sections around onMeasure, onDraw, onTouchEvent,
+	 * recalculateAll and listener callbacks, so they show up in system traces. Disabled by default,
+	 * in which case each section costs a single static field check. Only available on API 18 and up.
+	 * Set it while no CircularSeekBar is drawing or handling touches, for example at startup.
+	 * @param boolean value. True to emit trace sections, false to not emit them.
+	 */
+	public static void setTraceEnabled(boolean traceEnabled) {
+		sTraceEnabled = traceEnabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2;
+	}
+
+	/**
+	 * Get whether CircularSeekBar instances emit trace sections.
+	 * @return Boolean value of true if trace sections are emitted, false if they are not.
+	 */
+	public static boolean isTraceEnabled() {
+		return sTraceEnabled;
+	}
+
+	/**
+	 * Set whether the circle and the circle fill are cached in a {@code Bitmap}.
+	 * When enabled, they are only redrawn when the size or their colors change, and the circle fill
+	 * is drawn below the progress instead of above it.
+	 * @param boolean value. True if the background should be cached, false if it should be drawn every frame.
+	 */
+	public void setBackgroundCacheEnabled(boolean backgroundCacheEnabled) {
+		if (mBackgroundCacheEnabled != backgroundCacheEnabled) {
+			mBackgroundCacheEnabled = backgroundCacheEnabled;
+			if (!backgroundCacheEnabled) {
+				releaseBackgroundBitmap();
+			}
+			invalidate();
+		}
+	}
+
+	/**
+	 * Get whether the circle and the circle fill are cached in a {@code Bitmap}.
+	 * @return Boolean value of true if the background is cached, false if it is drawn every frame.
+	 */
+	public boolean isBackgroundCacheEnabled() {
+		return mBackgroundCacheEnabled;
+	}
+
+	/**
+	 * Sets how the glow around the progress is drawn.
+	 * @param glowStyle One of {@code GLOW_STYLE_NONE}, {@code GLOW_STYLE_SPRITE} or {@code GLOW_STYLE_LAYERED}.
+	 */
+	public void setGlowStyle(int glowStyle) {
+		if (mGlowStyle != glowStyle) {
+			mGlowStyle = glowStyle;
+			initGlowPaints();
+			if (mGlowStyle == GLOW_STYLE_SPRITE) {
+				initGlowClipPath();
+			} else {
+				releaseGlowBitmap();
+			}
+			invalidate();
+		}
+	}
+
+	/**
+	 * Gets how the glow around the progress is drawn.
+	 * @return One of {@code GLOW_STYLE_NONE}, {@code GLOW_STYLE_SPRITE} or {@code GLOW_STYLE_LAYERED}.
+	 */
+	public int getGlowStyle() {
+		return mGlowStyle;
+	}
+
+	/**
+	 * Set whether progress changes are coalesced.
+	 * When enabled, the listener receives at most one onProgressChanged per frame, repeated values are
+	 * skipped, and the final value is always delivered before onStopTrackingTouch.
+	 * @param boolean value. True if progress changes should be coalesced, false if every change should be delivered immediately.
+	 */
+	public void setProgressCoalescingEnabled(boolean progressCoalescingEnabled) {
+		if (mProgressCoalescingEnabled && !progressCoalescingEnabled) {
+			flushProgressChanged();
+		}
+		mProgressCoalescingEnabled = progressCoalescingEnabled;
+	}
+
+	/**
+	 * Get whether progress changes are coalesced.
+	 * @return Boolean value of true if progress changes are coalesced, false if every change is delivered immediately.
+	 */
+	public boolean isProgressCoalescingEnabled() {
+		return mProgressCoalescingEnabled;
+	}
+
+	/**
+	 * Set whether range mode is enabled.
+	 * In range mode, a second pointer marks the start of the range, and the progress is the end of the range.
+	 * Both pointers share the same circle, and a touch moves whichever pointer is closest.
+	 * @param boolean value. True if range mode should be enabled, false if it should not.
+	 */
+	public void setRangeEnabled(boolean rangeEnabled) {
+		if (mRangeEnabled != rangeEnabled) {
+			mRangeEnabled = rangeEnabled;
+			mActiveThumb = THUMB_PROGRESS;
+			recalculateProgress();
+			invalidate();
+		}
+	}
+
+	/**
+	 * Get whether range mode is enabled.
+	 * @return Boolean value of true if range mode is enabled, false if it is not.
+	 */
+	public boolean isRangeEnabled() {
+		return mRangeEnabled;
+	}
+
+	/**
+	 * Set the start of the range. Only used in range mode.
+	 * The start is limited to the range between zero and the current progress.
+	 * @param rangeStart The start of the range.
+	 */
+	public void setRangeStart(int rangeStart) {
+		setPreciseRangeStart(rangeStart);
+	}
+
+	/**
+	 * Get the start of the range.
+	 * @return The start of the range, rounded to the nearest integer.
+	 */
+	public int getRangeStart() {
+		return roundToInt(mRangeStartProgress);
+	}
+
+	/**
+	 * Set the high resolution start of the range. Only used in range mode.
+	 * The start is limited to the range between zero and the current progress.
+	 * @param rangeStart The start of the range.
+	 */
+	public void setPreciseRangeStart(double rangeStart) {
+		double oldRangeStart = mRangeStartProgress;
+		setThumbProgress(THUMB_RANGE_START, rangeStart);
+		if (mRangeStartProgress != oldRangeStart) {
+			if (mRangeEnabled) {
+				dispatchRangeChanged(false);
+				requestProgressUpdate();
+			}
+		}
+	}
+
+	/**
+	 * Get the high resolution start of the range.
+	 * @return The start of the range.
+	 */
+	public double getPreciseRangeStart() {
+		return mRangeStartProgress;
+	}
+
+	/**
+	 * Set whether the progress pointer keeps rotating after the user releases it (a fling).
+	 * The fling stops at the start and end if the lock is enabled, otherwise it passes through them.
+	 * Progress changes during a fling are reported as coming from the user.
+	 * @param boolean value. True if flinging should be enabled, false if the pointer should stop on release.
+	 */
+	public void setFlingEnabled(boolean flingEnabled) {
+		mFlingEnabled = flingEnabled;
+		if (!flingEnabled) {
+			stopFling();
+		}
+	}
+
+	/**
+	 * Get whether the progress pointer keeps rotating after the user releases it.
+	 * @return Boolean value of true if flinging is enabled, false if it is not.
+	 */
+	public boolean isFlingEnabled() {
+		return mFlingEnabled;
+	}
+
 }
@@ -0,0 +1,131 @@
+/*
+ *
+ * Copyright 2013 Matt Joseph
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.devadvance.circularseekbar;
+
+import java.util.Arrays;
+
+/**
+ * A small cache with 64-bit hash keys, used by {@code CircularSeekBarAttributes} to cache the parsed
+ * attributes of each distinct set of XML attributes. Keys are built with {@link #startKey(int, float)},
+ * {@link #hash(long, int)} and {@link #hashAttribute(long, int, String, String)}, so looking up a key creates no objects.
+ * The entries are scanned linearly, which is faster than hashing for the few entries a theme has.
+ * The cache is cleared when it is full. Not thread-safe.
+ * Pure Java, so the key and the lookup can be benchmarked without Android.
+ * @param <V> The type of the cached values.
+ */
+final class CircularSeekBarAttributeCache<V> {
+
+	/**
+	 * The key before anything is added to it (the 64-bit FNV-1a offset basis).
+	 */
+	static final long EMPTY_KEY = 0xcbf29ce484222325L;
+
+	/**
+	 * The 64-bit FNV-1a prime.
+	 */
+	private static final long HASH_PRIME = 0x100000001b3L;
+
+	private final long[] mKeys;
+	private final Object[] mValues;
+	private int mSize;
+
+	/**
+	 * @param capacity The maximum number of entries. The cache is cleared when it is full.
+	 */
+	CircularSeekBarAttributeCache(int capacity) {
+		mKeys = new long[capacity];
+		mValues = new Object[capacity];
+	}
+
+	/**
+	 * Add a value to a key.
+	 * @param key The key so far, starting with {@link #EMPTY_KEY}.
+	 * @param value The value to add.
+	 * @return The new key.
+	 */
+	static long hash(long key, int value) {
+		return (key ^ value) * HASH_PRIME;
+	}
+
+	/**
+	 * Start a key with the values that every set of attributes has.
+	 * @param defStyle The default style attribute.
+	 * @param dpToPxScale Scale from dp to pixels, which the default sizes depend on.
+	 * @return The key.
+	 */
+	static long startKey(int defStyle, float dpToPxScale) {
+		return hash(hash(EMPTY_KEY, defStyle), Float.floatToIntBits(dpToPxScale));
+	}
+
+	/**
+	 * Add one XML attribute to a key: its name and its unresolved value.
+	 * Only the hash codes of the strings are used, which {@code String} caches.
+	 * @param key The key so far.
+	 * @param nameResource The resource ID of the attribute name, or 0 if it has none.
+	 * @param name The attribute name.
+	 * @param value The unresolved attribute value, or null.
+	 * @return The new key.
+	 */
+	static long hashAttribute(long key, int nameResource, String name, String value) {
+		key = hash(key, nameResource);
+		key = hash(key, (name != null ? name.hashCode() : 0));
+		return hash(key, (value != null ? value.hashCode() : 0));
+	}
+
+	/**
+	 * @param key The key.
+	 * @return The cached value, or null if there is none.
+	 */
+	@SuppressWarnings("unchecked")
+	V get(long key) {
+		for (int i = 0; i < mSize; i++) {
+			if (mKeys[i] == key) {
+				return (V) mValues[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Cache a value, replacing any value with the same key. Clears the cache first if it is full.
+	 * @param key The key.
+	 * @param value The value.
+	 */
+	void put(long key, V value) {
+		for (int i = 0; i < mSize; i++) {
+			if (mKeys[i] == key) {
+				mValues[i] = value;
+				return;
+			}
+		}
+		if (mSize == mKeys.length) {
+			Arrays.fill(mValues, null);
+			mSize = 0;
+		}
+		mKeys[mSize] = key;
+		mValues[mSize] = value;
+		mSize++;
+	}
+
+	/**
+	 * @return The number of cached values.
+	 */
+	int size() {
+		return mSize;
+	}
+}
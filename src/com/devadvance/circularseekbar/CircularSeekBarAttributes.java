@@ -0,0 +1,217 @@
+/*
+ *
+ * Copyright 2013 Matt Joseph
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.devadvance.circularseekbar;
+
+import java.util.WeakHashMap;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.Color;
+import android.util.AttributeSet;
+
+/**
+ * The values of the CircularSeekBar attributes, parsed once from a {@code TypedArray}.
+ * Parsed values are cached per theme, configuration and set of attribute values, so inflating the same
+ * layout many times (for example in a RecyclerView) only reads the {@code TypedArray} the first time.
+ * Note: A view with an {@code android:theme} attribute gets a new {@code ContextThemeWrapper} theme every
+ * time it is inflated, so it always misses the cache, and its entry is dropped with that theme.
+ */
+final class CircularSeekBarAttributes {
+
+	/**
+	 * Maximum number of distinct attribute sets cached per theme. The cache for a theme is cleared when it is full.
+	 */
+	private static final int MAX_CACHED_PER_THEME = 32;
+
+	/**
+	 * Cached values per theme, and then per attribute set key from {@link #createKey(AttributeSet, int, float)}.
+	 * Weak keys, so that the cache does not keep an Activity (through its theme) alive.
+	 */
+	private static final WeakHashMap<Resources.Theme, ThemeCache> sCache = new WeakHashMap<Resources.Theme, ThemeCache>();
+
+	/**
+	 * The cached values for one theme, and the configuration they were resolved with.
+	 * Resource references in the attributes can resolve differently after a configuration change
+	 * (for example orientation-specific dimensions) even though the theme stays the same.
+	 */
+	private static final class ThemeCache {
+		final Configuration mConfiguration;
+		final CircularSeekBarAttributeCache<CircularSeekBarAttributes> mValues = new CircularSeekBarAttributeCache<CircularSeekBarAttributes>(MAX_CACHED_PER_THEME);
+
+		ThemeCache(Configuration configuration) {
+			mConfiguration = new Configuration(configuration);
+		}
+	}
+
+	final float mCircleXRadius;
+	final float mCircleYRadius;
+	final float mPointerRadius;
+	final float mPointerHaloWidth;
+	final float mPointerHaloBorderWidth;
+	final float mCircleStrokeWidth;
+	final int mPointerColor;
+	final int mPointerHaloColor;
+	final int mPointerHaloColorOnTouch;
+	final int mCircleColor;
+	final int mCircleProgressColor;
+	final int mCircleFillColor;
+	final int mTickColor;
+	final int mPointerAlpha;
+	final int mPointerAlphaOnTouch;
+	final int mMax;
+	final int mProgress;
+	final float mProgressStep;
+	final boolean mRangeEnabled;
+	final boolean mFlingEnabled;
+	final int mProgressAnimationDuration;
+	final int mTickCount;
+	final boolean mTickMarksEnabled;
+	final boolean mTickHapticFeedbackEnabled;
+	final boolean mGaugeMode;
+	final int mRangeStart;
+	final boolean mCustomRadii;
+	final boolean mMaintainEqualCircle;
+	final boolean mMoveOutsideCircle;
+	final boolean mLockEnabled;
+	final boolean mBackgroundCacheEnabled;
+	final int mGlowStyle;
+	final boolean mProgressCoalescingEnabled;
+	final float mStartAngle;
+	final float mEndAngle;
+
+	/**
+	 * Parse the attributes.
+	 * @param attrArray The attributes of the CircularSeekBar styleable.
+	 * @param dpToPxScale Scale from dp to pixels, for the default sizes.
+	 */
+	CircularSeekBarAttributes(TypedArray attrArray, float dpToPxScale) {
+		mCircleXRadius = attrArray.getDimension(R.styleable.CircularSeekBar_circle_x_radius, CircularSeekBar.DEFAULT_CIRCLE_X_RADIUS * dpToPxScale);
+		mCircleYRadius = attrArray.getDimension(R.styleable.CircularSeekBar_circle_y_radius, CircularSeekBar.DEFAULT_CIRCLE_Y_RADIUS * dpToPxScale);
+		mPointerRadius = attrArray.getDimension(R.styleable.CircularSeekBar_pointer_radius, CircularSeekBar.DEFAULT_POINTER_RADIUS * dpToPxScale);
+		mPointerHaloWidth = attrArray.getDimension(R.styleable.CircularSeekBar_pointer_halo_width, CircularSeekBar.DEFAULT_POINTER_HALO_WIDTH * dpToPxScale);
+		mPointerHaloBorderWidth = attrArray.getDimension(R.styleable.CircularSeekBar_pointer_halo_border_width, CircularSeekBar.DEFAULT_POINTER_HALO_BORDER_WIDTH * dpToPxScale);
+		mCircleStrokeWidth = attrArray.getDimension(R.styleable.CircularSeekBar_circle_stroke_width, CircularSeekBar.DEFAULT_CIRCLE_STROKE_WIDTH * dpToPxScale);
+
+		mPointerColor = attrArray.getColor(R.styleable.CircularSeekBar_pointer_color, CircularSeekBar.DEFAULT_POINTER_COLOR);
+		mPointerHaloColor = attrArray.getColor(R.styleable.CircularSeekBar_pointer_halo_color, CircularSeekBar.DEFAULT_POINTER_HALO_COLOR);
+		mPointerHaloColorOnTouch = attrArray.getColor(R.styleable.CircularSeekBar_pointer_halo_color_ontouch, CircularSeekBar.DEFAULT_POINTER_HALO_COLOR_ONTOUCH);
+		mCircleColor = attrArray.getColor(R.styleable.CircularSeekBar_circle_color, CircularSeekBar.DEFAULT_CIRCLE_COLOR);
+		mCircleProgressColor = attrArray.getColor(R.styleable.CircularSeekBar_circle_progress_color, CircularSeekBar.DEFAULT_CIRCLE_PROGRESS_COLOR);
+		mCircleFillColor = attrArray.getColor(R.styleable.CircularSeekBar_circle_fill, CircularSeekBar.DEFAULT_CIRCLE_FILL_COLOR);
+		mTickColor = attrArray.getColor(R.styleable.CircularSeekBar_tick_color, CircularSeekBar.DEFAULT_TICK_COLOR);
+
+		mPointerAlpha = Color.alpha(mPointerHaloColor);
+
+		int pointerAlphaOnTouch = attrArray.getInt(R.styleable.CircularSeekBar_pointer_alpha_ontouch, CircularSeekBar.DEFAULT_POINTER_ALPHA_ONTOUCH);
+		if (pointerAlphaOnTouch > 255 || pointerAlphaOnTouch < 0) {
+			pointerAlphaOnTouch = CircularSeekBar.DEFAULT_POINTER_ALPHA_ONTOUCH;
+		}
+		mPointerAlphaOnTouch = pointerAlphaOnTouch;
+
+		mMax = attrArray.getInt(R.styleable.CircularSeekBar_max, CircularSeekBar.DEFAULT_MAX);
+		mProgress = attrArray.getInt(R.styleable.CircularSeekBar_progress, CircularSeekBar.DEFAULT_PROGRESS);
+		mProgressStep = attrArray.getFloat(R.styleable.CircularSeekBar_progress_step, CircularSeekBar.DEFAULT_PROGRESS_STEP);
+		mRangeEnabled = attrArray.getBoolean(R.styleable.CircularSeekBar_range_enabled, CircularSeekBar.DEFAULT_RANGE_ENABLED);
+		mFlingEnabled = attrArray.getBoolean(R.styleable.CircularSeekBar_fling_enabled, CircularSeekBar.DEFAULT_FLING_ENABLED);
+		mProgressAnimationDuration = attrArray.getInt(R.styleable.CircularSeekBar_progress_animation_duration, CircularSeekBar.DEFAULT_PROGRESS_ANIMATION_DURATION);
+		mTickCount = Math.max(0, attrArray.getInt(R.styleable.CircularSeekBar_tick_count, CircularSeekBar.DEFAULT_TICK_COUNT));
+		mTickMarksEnabled = attrArray.getBoolean(R.styleable.CircularSeekBar_tick_marks_enabled, CircularSeekBar.DEFAULT_TICK_MARKS_ENABLED);
+		mTickHapticFeedbackEnabled = attrArray.getBoolean(R.styleable.CircularSeekBar_tick_haptic_feedback_enabled, CircularSeekBar.DEFAULT_TICK_HAPTIC_FEEDBACK_ENABLED);
+		mGaugeMode = attrArray.getBoolean(R.styleable.CircularSeekBar_gauge_mode, CircularSeekBar.DEFAULT_GAUGE_MODE);
+		mRangeStart = attrArray.getInt(R.styleable.CircularSeekBar_range_start, CircularSeekBar.DEFAULT_PROGRESS);
+		mCustomRadii = attrArray.getBoolean(R.styleable.CircularSeekBar_use_custom_radii, CircularSeekBar.DEFAULT_USE_CUSTOM_RADII);
+		mMaintainEqualCircle = attrArray.getBoolean(R.styleable.CircularSeekBar_maintain_equal_circle, CircularSeekBar.DEFAULT_MAINTAIN_EQUAL_CIRCLE);
+		mMoveOutsideCircle = attrArray.getBoolean(R.styleable.CircularSeekBar_move_outside_circle, CircularSeekBar.DEFAULT_MOVE_OUTSIDE_CIRCLE);
+		mLockEnabled = attrArray.getBoolean(R.styleable.CircularSeekBar_lock_enabled, CircularSeekBar.DEFAULT_LOCK_ENABLED);
+		mBackgroundCacheEnabled = attrArray.getBoolean(R.styleable.CircularSeekBar_background_cache_enabled, CircularSeekBar.DEFAULT_BACKGROUND_CACHE_ENABLED);
+		mGlowStyle = attrArray.getInt(R.styleable.CircularSeekBar_glow_style, CircularSeekBar.DEFAULT_GLOW_STYLE);
+		mProgressCoalescingEnabled = attrArray.getBoolean(R.styleable.CircularSeekBar_progress_coalescing_enabled, CircularSeekBar.DEFAULT_PROGRESS_COALESCING_ENABLED);
+
+		// Modulo 360 right now to avoid constant conversion
+		float startAngle = ((360f + (attrArray.getFloat((R.styleable.CircularSeekBar_start_angle), CircularSeekBar.DEFAULT_START_ANGLE) % 360f)) % 360f);
+		float endAngle = ((360f + (attrArray.getFloat((R.styleable.CircularSeekBar_end_angle), CircularSeekBar.DEFAULT_END_ANGLE) % 360f)) % 360f);
+
+		if (startAngle == endAngle) {
+			//startAngle = startAngle + 1f;
+			endAngle = endAngle - .1f;
+		}
+		mStartAngle = startAngle;
+		mEndAngle = endAngle;
+	}
+
+	/**
+	 * Get the parsed attributes for a CircularSeekBar, from the cache if the same attributes were parsed before
+	 * with the same theme and configuration. Otherwise they are read from a {@code TypedArray} and cached.
+	 * @param context The context of the CircularSeekBar.
+	 * @param attrs The attributes from XML, or null.
+	 * @param defStyle The default style attribute.
+	 * @param dpToPxScale Scale from dp to pixels, for the default sizes.
+	 * @return The parsed attributes.
+	 */
+	static CircularSeekBarAttributes obtain(Context context, AttributeSet attrs, int defStyle, float dpToPxScale) {
+		Resources.Theme theme = context.getTheme();
+		Configuration configuration = context.getResources().getConfiguration();
+		long key = createKey(attrs, defStyle, dpToPxScale);
+
+		synchronized (sCache) {
+			ThemeCache themeCache = sCache.get(theme);
+			if (themeCache != null && themeCache.mConfiguration.equals(configuration)) {
+				CircularSeekBarAttributes attributes = themeCache.mValues.get(key);
+				if (attributes != null) {
+					return attributes;
+				}
+			}
+		}
+
+		final TypedArray attrArray = context.obtainStyledAttributes(attrs, R.styleable.CircularSeekBar, defStyle, 0);
+		CircularSeekBarAttributes attributes = new CircularSeekBarAttributes(attrArray, dpToPxScale);
+		attrArray.recycle();
+
+		synchronized (sCache) {
+			ThemeCache themeCache = sCache.get(theme);
+			if (themeCache == null || !themeCache.mConfiguration.equals(configuration)) {
+				// The values cached with the old configuration may no longer be valid
+				themeCache = new ThemeCache(configuration);
+				sCache.put(theme, themeCache);
+			}
+			themeCache.mValues.put(key, attributes);
+		}
+		return attributes;
+	}
+
+	/**
+	 * Create the cache key for a set of attributes: a 64-bit hash of the default style, the density, and every
+	 * attribute name and (unresolved) value. Values that refer to resources or theme attributes
+	 * resolve the same way for the same theme and configuration, which are part of the cache lookup.
+	 * No key string is built, so a cache hit does not allocate.
+	 */
+	private static long createKey(AttributeSet attrs, int defStyle, float dpToPxScale) {
+		long key = CircularSeekBarAttributeCache.startKey(defStyle, dpToPxScale);
+		if (attrs != null) {
+			key = CircularSeekBarAttributeCache.hash(key, attrs.getStyleAttribute());
+			int count = attrs.getAttributeCount();
+			for (int i = 0; i < count; i++) {
+				key = CircularSeekBarAttributeCache.hashAttribute(key, attrs.getAttributeNameResource(i),
+						attrs.getAttributeName(i), attrs.getAttributeValue(i));
+			}
+		}
+		return key;
+	}
+}
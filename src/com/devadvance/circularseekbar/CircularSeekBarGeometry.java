@@ -0,0 +1,391 @@
+/*
+ *
+ * Copyright 2013 Matt Joseph
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.devadvance.circularseekbar;
+
+/**
+ * Closed-form geometry for the circle (or ellipse) of a CircularSeekBar.
+ * Arcs are added to a {@code Path} parametrically, so a point at angle {@code a} on an ellipse
+ * with X radius {@code w} and Y radius {@code h} is simply {@code (w * cos(a), h * sin(a))}.
+ * This replaces walking the progress {@code Path} with a {@code PathMeasure}.
+ * All angles are geometric degrees (clockwise, relative to 3 o'clock), the same as in CircularSeekBar.
+ * No method allocates; results are written into caller-supplied arrays.
+ */
+public final class CircularSeekBarGeometry {
+
+	/**
+	 * Multiply radians by this to get degrees, without a double round-trip.
+	 */
+	private static final float RADIANS_TO_DEGREES = (float) (180.0 / Math.PI);
+
+	private CircularSeekBarGeometry() {
+	}
+
+	/**
+	 * Calculate the angle of a point relative to the center, in geometric degrees (0 to 360).
+	 * @param x X coordinate relative to the center.
+	 * @param y Y coordinate relative to the center.
+	 * @return The angle in degrees, in the range [0, 360).
+	 */
+	public static float angleDegrees(float x, float y) {
+		float angle = (float) Math.atan2(y, x) * RADIANS_TO_DEGREES;
+		return (angle < 0f ? 360f + angle : angle);
+	}
+
+	/**
+	 * Calculate the point on the ellipse at the given angle.
+	 * @param angle Angle in degrees.
+	 * @param xRadius X radius of the ellipse (half of the width of the {@code RectF}).
+	 * @param yRadius Y radius of the ellipse (half of the height of the {@code RectF}).
+	 * @param outXY Array of at least two elements that receives the X and Y coordinates.
+	 */
+	public static void pointOnArc(float angle, float xRadius, float yRadius, float[] outXY) {
+		double radians = Math.toRadians(angle);
+		outXY[0] = xRadius * (float) Math.cos(radians);
+		outXY[1] = yRadius * (float) Math.sin(radians);
+	}
+
+	/**
+	 * Calculate the point at the end of an arc, i.e. where the pointer is drawn.
+	 * @param startAngle Start angle of the arc in degrees.
+	 * @param sweepAngle Sweep angle of the arc in degrees.
+	 * @param xRadius X radius of the ellipse.
+	 * @param yRadius Y radius of the ellipse.
+	 * @param outXY Array of at least two elements that receives the X and Y coordinates.
+	 */
+	public static void arcEndPoint(float startAngle, float sweepAngle, float xRadius, float yRadius, float[] outXY) {
+		pointOnArc(startAngle + sweepAngle, xRadius, yRadius, outXY);
+	}
+
+	/**
+	 * Calculate the unit tangent of the ellipse at the given angle, in the clockwise direction.
+	 * This matches the tangent returned by {@code PathMeasure.getPosTan} for the progress path.
+	 * @param angle Angle in degrees.
+	 * @param xRadius X radius of the ellipse.
+	 * @param yRadius Y radius of the ellipse.
+	 * @param outXY Array of at least two elements that receives the X and Y components.
+	 */
+	public static void tangentOnArc(float angle, float xRadius, float yRadius, float[] outXY) {
+		double radians = Math.toRadians(angle);
+		float tx = -xRadius * (float) Math.sin(radians);
+		float ty = yRadius * (float) Math.cos(radians);
+		float length = (float) Math.sqrt(tx * tx + ty * ty);
+		if (length > 0f) {
+			outXY[0] = tx / length;
+			outXY[1] = ty / length;
+		} else {
+			outXY[0] = 0f;
+			outXY[1] = 0f;
+		}
+	}
+
+	/**
+	 * Calculate the distance from the center of the ellipse to the point at the given angle.
+	 * For a circle this is just the radius. Used for hit testing the pointer.
+	 * @param angle Angle in degrees.
+	 * @param xRadius X radius of the ellipse.
+	 * @param yRadius Y radius of the ellipse.
+	 * @return The distance from the center to the point on the ellipse.
+	 */
+	public static float radiusAt(float angle, float xRadius, float yRadius) {
+		if (xRadius == yRadius) {
+			return xRadius;
+		}
+		double radians = Math.toRadians(angle);
+		double x = xRadius * Math.cos(radians);
+		double y = yRadius * Math.sin(radians);
+		return (float) Math.sqrt(x * x + y * y);
+	}
+
+	/**
+	 * Calculate the bounding box of an arc of the ellipse (without any stroke width).
+	 * Used to invalidate only the part of the View that is affected by a progress change.
+	 * @param startAngle Start angle of the arc in degrees.
+	 * @param sweepAngle Sweep angle of the arc in degrees (0 to 360).
+	 * @param xRadius X radius of the ellipse.
+	 * @param yRadius Y radius of the ellipse.
+	 * @param outBounds Array of at least four elements that receives the left, top, right and bottom.
+	 */
+	public static void arcBounds(float startAngle, float sweepAngle, float xRadius, float yRadius, float[] outBounds) {
+		double startRadians = Math.toRadians(startAngle);
+		double endRadians = Math.toRadians(startAngle + sweepAngle);
+		float startX = xRadius * (float) Math.cos(startRadians);
+		float startY = yRadius * (float) Math.sin(startRadians);
+		float endX = xRadius * (float) Math.cos(endRadians);
+		float endY = yRadius * (float) Math.sin(endRadians);
+
+		float left = Math.min(startX, endX);
+		float top = Math.min(startY, endY);
+		float right = Math.max(startX, endX);
+		float bottom = Math.max(startY, endY);
+
+		// Extend to the extremes of any axis that the arc crosses
+		float normalizedStart = ((startAngle % 360f) + 360f) % 360f;
+		for (int quadrant = 0; quadrant < 4; quadrant++) {
+			float distance = (quadrant * 90f) - normalizedStart;
+			distance = (distance < 0 ? 360f + distance : distance);
+			if (distance <= sweepAngle) {
+				switch (quadrant) {
+				case 0:
+					right = xRadius;
+					break;
+				case 1:
+					bottom = yRadius;
+					break;
+				case 2:
+					left = -xRadius;
+					break;
+				default:
+					top = -yRadius;
+					break;
+				}
+			}
+		}
+
+		outBounds[0] = left;
+		outBounds[1] = top;
+		outBounds[2] = right;
+		outBounds[3] = bottom;
+	}
+
+	/**
+	 * Calculate the length of the arc from the start angle clockwise to the end angle.
+	 * @param startAngle Start angle in degrees (0 to 360).
+	 * @param endAngle End angle in degrees (0 to 360).
+	 * @return The length in degrees, in the range (0, 360].
+	 */
+	public static float totalDegrees(float startAngle, float endAngle) {
+		float totalDegrees = (360f - (startAngle - endAngle)) % 360f; // Length of the entire circle/arc
+		return (totalDegrees <= 0f ? 360f : totalDegrees);
+	}
+
+	/**
+	 * Calculate the clockwise distance from one angle to another.
+	 * @param fromAngle Angle to measure from, in degrees (0 to 360).
+	 * @param toAngle Angle to measure to, in degrees (0 to 360).
+	 * @return The clockwise distance in degrees, in the range [0, 360).
+	 */
+	public static float clockwiseDistance(float fromAngle, float toAngle) {
+		float distance = toAngle - fromAngle;
+		return (distance < 0 ? 360f + distance : distance);
+	}
+
+	/**
+	 * Calculate the shortest distance between two angles, in either direction.
+	 * @param angle1 First angle in degrees.
+	 * @param angle2 Second angle in degrees.
+	 * @return The distance in degrees, in the range [0, 180].
+	 */
+	public static float shortestDistance(float angle1, float angle2) {
+		float distance = Math.abs(angle1 - angle2) % 360f;
+		return Math.min(distance, 360f - distance);
+	}
+
+	/**
+	 * Calculate the squared inner and outer radii of the ring that accepts touches.
+	 * The ring is the stroke of the circle, widened to the minimum touch target if the stroke is thinner.
+	 * Squared so that touches can be hit tested without a square root.
+	 * @param xRadius X radius of the ellipse.
+	 * @param yRadius Y radius of the ellipse.
+	 * @param strokeWidth Stroke width of the circle.
+	 * @param minimumTouchTarget Minimum width of the ring (in pixels).
+	 * @param outRadiiSquared Array of at least two elements that receives the squared inner and outer radii.
+	 * A negative inner radius is reported as zero, i.e. it accepts everything up to the outer radius.
+	 */
+	public static void touchRadiiSquared(float xRadius, float yRadius, float strokeWidth, float minimumTouchTarget, float[] outRadiiSquared) {
+		float additionalRadius = Math.max(strokeWidth, minimumTouchTarget) / 2;
+		float outerRadius = Math.max(xRadius, yRadius) + additionalRadius;
+		float innerRadius = Math.min(xRadius, yRadius) - additionalRadius;
+		outRadiiSquared[0] = (innerRadius > 0f ? innerRadius * innerRadius : 0f);
+		outRadiiSquared[1] = outerRadius * outerRadius;
+	}
+
+	/**
+	 * Calculate the angle of a touch and its clockwise distances from the start and end angles.
+	 * @param x X coordinate of the touch, relative to the center.
+	 * @param y Y coordinate of the touch, relative to the center.
+	 * @param startAngle Start angle of the arc in degrees.
+	 * @param endAngle End angle of the arc in degrees.
+	 * @param outDistances Array of at least three elements that receives the clockwise distance from
+	 * the start angle, the clockwise distance from the end angle and the squared distance from the center.
+	 * @return The touch angle in degrees.
+	 */
+	public static float touchDistances(float x, float y, float startAngle, float endAngle, float[] outDistances) {
+		float touchAngle = angleDegrees(x, y);
+		outDistances[0] = clockwiseDistance(startAngle, touchAngle);
+		outDistances[1] = clockwiseDistance(endAngle, touchAngle);
+		outDistances[2] = x * x + y * y;
+		return touchAngle;
+	}
+
+	/**
+	 * Hit test a touch against the ring that accepts touches.
+	 * @param radiusSquared Squared distance of the touch from the center.
+	 * @param innerRadiusSquared Squared inner radius, from {@link #touchRadiiSquared}.
+	 * @param outerRadiusSquared Squared outer radius, from {@link #touchRadiiSquared}.
+	 * @return True if the touch is on the ring.
+	 */
+	public static boolean isNearCircle(float radiusSquared, float innerRadiusSquared, float outerRadiusSquared) {
+		return (radiusSquared >= innerRadiusSquared) && (radiusSquared <= outerRadiusSquared);
+	}
+
+	/**
+	 * Calculate the angle of the pointer for a progress value.
+	 * @param progress The progress.
+	 * @param max The max progress.
+	 * @param startAngle Start angle of the arc in degrees.
+	 * @param totalDegrees Length of the arc in degrees.
+	 * @return The angle of the pointer in degrees, in the range [0, 360).
+	 */
+	public static float angleForProgress(double progress, double max, float startAngle, float totalDegrees) {
+		float progressPercent = (float) (progress / max);
+		return ((progressPercent * totalDegrees) + startAngle) % 360f;
+	}
+
+	/**
+	 * Calculate the progress for a distance along the arc, snapped to ticks or a step if either is set.
+	 * @param degrees Clockwise distance from the start angle in degrees.
+	 * @param totalDegrees Length of the arc in degrees.
+	 * @param max The max progress.
+	 * @param tickCount Number of equal steps the arc is divided into, or zero.
+	 * Takes precedence over {@code step}.
+	 * @param step Step the progress is snapped to, or zero.
+	 * @return The progress.
+	 */
+	public static double progressForDegrees(float degrees, float totalDegrees, double max, int tickCount, double step) {
+		if (tickCount > 0) {
+			return max * Math.round(degrees * tickCount / totalDegrees) / tickCount;
+		}
+		double progress = max * degrees / totalDegrees;
+		if (step > 0) {
+			progress = Math.min(max, Math.round(progress / step) * step);
+		}
+		return progress;
+	}
+
+	/**
+	 * Calculate the X and Y radii of the circle for the measured size of the View, leaving room for the
+	 * stroke and the pointer. Called on every measure pass, so it reports whether the radii changed,
+	 * and the geometry is only rebuilt when they did.
+	 * @param width Measured width of the View.
+	 * @param height Measured height of the View.
+	 * @param strokeWidth Stroke width of the circle.
+	 * @param pointerRadius Radius of the pointer.
+	 * @param haloBorderWidth Width of the border of the pointer halo.
+	 * @param customRadii True to use {@code customXRadius} and {@code customYRadius} when they fit in the View.
+	 * @param customXRadius Custom X radius of the circle.
+	 * @param customYRadius Custom Y radius of the circle.
+	 * @param maintainEqualCircle True to make both radii the smaller of the two.
+	 * @param inOutRadii Array of at least two elements with the current X and Y radii, which receives the new ones.
+	 * @return True if the radii changed.
+	 */
+	public static boolean circleRadii(int width, int height, float strokeWidth, float pointerRadius, float haloBorderWidth,
+			boolean customRadii, float customXRadius, float customYRadius, boolean maintainEqualCircle, float[] inOutRadii) {
+		// Set the circle width and height based on the view for the moment
+		float circleHeight = (float)height / 2f - strokeWidth - pointerRadius - (haloBorderWidth * 1.5f);
+		float circleWidth = (float)width / 2f - strokeWidth - pointerRadius - (haloBorderWidth * 1.5f);
+
+		if (customRadii) {
+			// Check to make sure the custom radii are not out of the view. If they are, just use the view values
+			if ((customYRadius - strokeWidth - pointerRadius - haloBorderWidth) < circleHeight) {
+				circleHeight = customYRadius - strokeWidth - pointerRadius - (haloBorderWidth * 1.5f);
+			}
+
+			if ((customXRadius - strokeWidth - pointerRadius - haloBorderWidth) < circleWidth) {
+				circleWidth = customXRadius - strokeWidth - pointerRadius - (haloBorderWidth * 1.5f);
+			}
+		}
+
+		if (maintainEqualCircle) { // Applies regardless of how the values were determined
+			float min = Math.min(circleHeight, circleWidth);
+			circleHeight = min;
+			circleWidth = min;
+		}
+
+		boolean changed = (circleWidth != inOutRadii[0] || circleHeight != inOutRadii[1]);
+		inOutRadii[0] = circleWidth;
+		inOutRadii[1] = circleHeight;
+		return changed;
+	}
+
+	/**
+	 * Check if an arc is the full circle. When the start and end angles are the same, CircularSeekBar
+	 * subtracts 0.1 degrees from the end angle, so a full circle is 359.9 degrees rather than 360.
+	 * @param totalDegrees Length of the arc in degrees.
+	 * @return True if the arc is the full circle.
+	 */
+	public static boolean isFullCircle(float totalDegrees) {
+		return totalDegrees > 359f;
+	}
+
+	/**
+	 * Calculate the number of tick marks drawn for an arc.
+	 * @param totalDegrees Length of the arc in degrees.
+	 * @param tickCount Number of equal steps the arc is divided into.
+	 * @return The number of marks: one per step plus the end of the arc, except on a full circle
+	 * where the last mark is at the same place as the first.
+	 */
+	public static int tickMarkCount(float totalDegrees, int tickCount) {
+		if (tickCount <= 0) {
+			return 0;
+		}
+		return (isFullCircle(totalDegrees) ? tickCount : tickCount + 1);
+	}
+
+	/**
+	 * Calculate the tick marks of an arc as lines for {@code Canvas.drawLines}.
+	 * Each mark crosses the circle stroke at its tick, along the line through the center.
+	 * @param startAngle Start angle of the arc in degrees.
+	 * @param totalDegrees Length of the arc in degrees.
+	 * @param tickCount Number of equal steps the arc is divided into.
+	 * @param markCount Number of marks to calculate, from {@link #tickMarkCount(float, int)}.
+	 * @param xRadius X radius of the ellipse.
+	 * @param yRadius Y radius of the ellipse.
+	 * @param halfLength Half the length of each mark, usually half the stroke width.
+	 * @param centerX X coordinate of the center.
+	 * @param centerY Y coordinate of the center.
+	 * @param outLines Array of at least {@code markCount * 4} elements that receives the start and end point of each mark.
+	 */
+	public static void tickMarks(float startAngle, float totalDegrees, int tickCount, int markCount,
+			float xRadius, float yRadius, float halfLength, float centerX, float centerY, float[] outLines) {
+		for (int i = 0; i < markCount; i++) {
+			double radians = Math.toRadians(startAngle + (totalDegrees * i / tickCount));
+			float x = xRadius * (float) Math.cos(radians);
+			float y = yRadius * (float) Math.sin(radians);
+			float radius = (float) Math.sqrt(x * x + y * y);
+			float scale = (radius > 0f ? halfLength / radius : 0f);
+			outLines[i * 4] = centerX + x * (1f - scale);
+			outLines[i * 4 + 1] = centerY + y * (1f - scale);
+			outLines[i * 4 + 2] = centerX + x * (1f + scale);
+			outLines[i * 4 + 3] = centerY + y * (1f + scale);
+		}
+	}
+
+	/**
+	 * Convert a distance along the ellipse at a given radius into degrees.
+	 * Used to determine how many degrees the pointer covers for hit testing.
+	 * @param length Length along the arc (in pixels).
+	 * @param radius Radius at which the length is measured (in pixels).
+	 * @return The number of degrees covered by the length.
+	 */
+	public static float lengthToDegrees(float length, float radius) {
+		if (radius <= 0f) {
+			return 360f;
+		}
+		return (float) ((length * 180) / (Math.PI * radius));
+	}
+}
@@ -0,0 +1,194 @@
+/*
+ *
+ * Copyright 2013 Matt Joseph
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.devadvance.circularseekbar;
+
+/**
+ * The state of one finger dragging a pointer around the circle: the direction it is moving in,
+ * and whether it is locked at the start or the end because it moved past them.
+ * The lock makes it easier to hit the 0 and max progress marks.
+ * Pure Java with primitive inputs, so gestures can be simulated without Android.
+ * All distances are clockwise distances in degrees, from 0 to 360, as calculated by
+ * {@link CircularSeekBarGeometry#clockwiseDistance(float, float)}.
+ */
+public class CircularSeekBarGesture {
+
+	/**
+	 * Result of {@link #update}: the pointer is locked at the start of the circle (0 progress).
+	 */
+	public static final int RESULT_AT_START = 0;
+
+	/**
+	 * Result of {@link #update}: the pointer is locked at the end of the circle (max progress).
+	 */
+	public static final int RESULT_AT_END = 1;
+
+	/**
+	 * Result of {@link #update}: the touch is on the arc, so the pointer follows the touch angle.
+	 */
+	public static final int RESULT_ON_ARC = 2;
+
+	/**
+	 * Result of {@link #update}: the touch is in the gap between the end and the start of the arc.
+	 */
+	public static final int RESULT_OFF_ARC = 3;
+
+	/**
+	 * Result of {@link #move}: the touch is too far outside the circle, so the sample is ignored.
+	 */
+	public static final int RESULT_REJECTED = 4;
+
+	/**
+	 * The clockwise distance from the start angle of the last accepted touch sample.
+	 */
+	protected float mLastCWDistanceFromStart;
+
+	/**
+	 * True if the finger is moving clockwise around the circle, false if moving counter-clockwise.
+	 */
+	protected boolean mIsMovingCW;
+
+	/**
+	 * Used for when the finger moves beyond the start of the circle when moving counter clockwise.
+	 */
+	protected boolean mLockAtStart;
+
+	/**
+	 * Used for when the finger moves beyond the end of the circle when moving clockwise.
+	 */
+	protected boolean mLockAtEnd;
+
+	/**
+	 * Start a new gesture when the finger touches down on the circle or a pointer.
+	 * @param cwDistanceFromStart Clockwise distance from the start angle to the touch.
+	 */
+	public void start(float cwDistanceFromStart) {
+		mLastCWDistanceFromStart = cwDistanceFromStart;
+		mIsMovingCW = true;
+		mLockAtStart = false;
+		mLockAtEnd = false;
+	}
+
+	/**
+	 * Update the direction and the lock state for a new touch sample.
+	 * Call {@link #accept(float)} afterwards if the sample was used to move the pointer.
+	 * @param cwDistanceFromStart Clockwise distance from the start angle to the touch.
+	 * @param cwDistanceFromEnd Clockwise distance from the end angle to the touch.
+	 * @param totalDegrees Length of the arc in degrees.
+	 * @param lockEnabled True if the pointer locks at the start and end.
+	 * @return One of {@code RESULT_AT_START}, {@code RESULT_AT_END}, {@code RESULT_ON_ARC} or {@code RESULT_OFF_ARC}.
+	 */
+	public int update(float cwDistanceFromStart, float cwDistanceFromEnd, float totalDegrees, boolean lockEnabled) {
+		float ccwDistanceFromStart = 360f - cwDistanceFromStart;
+
+		if (mLastCWDistanceFromStart < cwDistanceFromStart) {
+			if ((cwDistanceFromStart - mLastCWDistanceFromStart) > 180f && !mIsMovingCW) {
+				mLockAtStart = true;
+				mLockAtEnd = false;
+			} else {
+				mIsMovingCW = true;
+			}
+		} else {
+			if ((mLastCWDistanceFromStart - cwDistanceFromStart) > 180f && mIsMovingCW) {
+				mLockAtEnd = true;
+				mLockAtStart = false;
+			} else {
+				mIsMovingCW = false;
+			}
+		}
+
+		if (mLockAtStart && mIsMovingCW) {
+			mLockAtStart = false;
+		}
+		if (mLockAtEnd && !mIsMovingCW) {
+			mLockAtEnd = false;
+		}
+		if (mLockAtStart && !mIsMovingCW && (ccwDistanceFromStart > 90)) {
+			mLockAtStart = false;
+		}
+		if (mLockAtEnd && mIsMovingCW && (cwDistanceFromEnd > 90)) {
+			mLockAtEnd = false;
+		}
+		// Fix for passing the end of a semi-circle quickly
+		if (!mLockAtEnd && cwDistanceFromStart > totalDegrees && mIsMovingCW && mLastCWDistanceFromStart < totalDegrees) {
+			mLockAtEnd = true;
+		}
+
+		if (mLockAtStart && lockEnabled) {
+			return RESULT_AT_START;
+		} else if (mLockAtEnd && lockEnabled) {
+			return RESULT_AT_END;
+		} else if (cwDistanceFromStart > totalDegrees) {
+			return RESULT_OFF_ARC;
+		}
+		return RESULT_ON_ARC;
+	}
+
+	/**
+	 * Process one touch sample of a drag: update the lock state, hit test the sample and
+	 * {@link #accept(float)} it unless it is rejected. Pointers locked at the start or end stay there
+	 * wherever the finger is; otherwise the sample must be inside the outer touch radius,
+	 * unless moving outside the circle is allowed.
+	 * @param cwDistanceFromStart Clockwise distance from the start angle to the touch.
+	 * @param cwDistanceFromEnd Clockwise distance from the end angle to the touch.
+	 * @param radiusSquared Squared distance of the touch from the center.
+	 * @param outerRadiusSquared Squared outer radius of the ring that accepts touches.
+	 * @param moveOutsideCircle True if the pointer keeps moving when the finger leaves the ring.
+	 * @param totalDegrees Length of the arc in degrees.
+	 * @param lockEnabled True if the pointer locks at the start and end.
+	 * @return One of {@code RESULT_AT_START}, {@code RESULT_AT_END}, {@code RESULT_ON_ARC}, {@code RESULT_OFF_ARC}
+	 * or {@code RESULT_REJECTED}.
+	 */
+	public int move(float cwDistanceFromStart, float cwDistanceFromEnd, float radiusSquared, float outerRadiusSquared,
+			boolean moveOutsideCircle, float totalDegrees, boolean lockEnabled) {
+		int result = update(cwDistanceFromStart, cwDistanceFromEnd, totalDegrees, lockEnabled);
+		if ((result == RESULT_ON_ARC || result == RESULT_OFF_ARC) && !moveOutsideCircle && radiusSquared > outerRadiusSquared) {
+			return RESULT_REJECTED;
+		}
+		accept(cwDistanceFromStart);
+		return result;
+	}
+
+	/**
+	 * Remember a touch sample that was used to move the pointer, as the reference for the next sample.
+	 * @param cwDistanceFromStart Clockwise distance from the start angle to the touch.
+	 */
+	public void accept(float cwDistanceFromStart) {
+		mLastCWDistanceFromStart = cwDistanceFromStart;
+	}
+
+	/**
+	 * @return True if the finger is moving clockwise around the circle, false if moving counter-clockwise.
+	 */
+	public boolean isMovingCW() {
+		return mIsMovingCW;
+	}
+
+	/**
+	 * @return True if the pointer is locked at the start of the circle because the finger moved past it.
+	 */
+	public boolean isLockedAtStart() {
+		return mLockAtStart;
+	}
+
+	/**
+	 * @return True if the pointer is locked at the end of the circle because the finger moved past it.
+	 */
+	public boolean isLockedAtEnd() {
+		return mLockAtEnd;
+	}
+}
@@ -0,0 +1,211 @@
+/*
+ *
+ * Copyright 2013 Matt Joseph
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.devadvance.circularseekbar;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Performance counters and timings for a CircularSeekBar, enabled with
+ * {@link CircularSeekBar#setMetrics(CircularSeekBarMetrics)}.
+ * Recording is lock-free and does not allocate, so it can stay enabled in release builds.
+ * The getters can be called from any thread, for example by a telemetry reporter.
+ * One instance can also be shared by several CircularSeekBar instances to get totals.
+ */
+public class CircularSeekBarMetrics {
+
+	/**
+	 * Upper bounds (exclusive, in nanoseconds) of the {@code onDraw} duration histogram buckets.
+	 * The last bucket counts everything from the last bound up.
+	 */
+	public static final long[] DRAW_BUCKET_BOUNDS_NANOS = {
+		250000L, 500000L, 1000000L, 2000000L, 4000000L, 8000000L, 16000000L
+	};
+
+	/**
+	 * Number of buckets in the {@code onDraw} duration histogram.
+	 */
+	public static final int DRAW_BUCKET_COUNT = DRAW_BUCKET_BOUNDS_NANOS.length + 1;
+
+	private final AtomicLong mTouchEventCount = new AtomicLong();
+	private final AtomicLong mRecalculateAllCount = new AtomicLong();
+	private final AtomicLong mRecalculateProgressCount = new AtomicLong();
+	private final AtomicLong mDrawCount = new AtomicLong();
+	private final AtomicLong mDrawTotalNanos = new AtomicLong();
+	private final AtomicLong mDrawMaxNanos = new AtomicLong();
+	private final AtomicLongArray mDrawHistogram = new AtomicLongArray(DRAW_BUCKET_COUNT);
+	private final AtomicLong mInvalidateCount = new AtomicLong();
+	private final AtomicLong mPartialInvalidateCount = new AtomicLong();
+	private final AtomicLong mListenerCallCount = new AtomicLong();
+	private final AtomicLong mListenerTotalNanos = new AtomicLong();
+	private final AtomicLong mListenerMaxNanos = new AtomicLong();
+
+	void recordTouchEvent() {
+		mTouchEventCount.incrementAndGet();
+	}
+
+	void recordRecalculateAll() {
+		mRecalculateAllCount.incrementAndGet();
+	}
+
+	void recordRecalculateProgress() {
+		mRecalculateProgressCount.incrementAndGet();
+	}
+
+	void recordDraw(long nanos) {
+		mDrawCount.incrementAndGet();
+		mDrawTotalNanos.addAndGet(nanos);
+		updateMax(mDrawMaxNanos, nanos);
+		int bucket = 0;
+		while (bucket < DRAW_BUCKET_BOUNDS_NANOS.length && nanos >= DRAW_BUCKET_BOUNDS_NANOS[bucket]) {
+			bucket++;
+		}
+		mDrawHistogram.incrementAndGet(bucket);
+	}
+
+	void recordInvalidate(boolean partial) {
+		mInvalidateCount.incrementAndGet();
+		if (partial) {
+			mPartialInvalidateCount.incrementAndGet();
+		}
+	}
+
+	void recordListenerCall(long nanos) {
+		mListenerCallCount.incrementAndGet();
+		mListenerTotalNanos.addAndGet(nanos);
+		updateMax(mListenerMaxNanos, nanos);
+	}
+
+	private static void updateMax(AtomicLong max, long value) {
+		long current = max.get();
+		while (value > current && !max.compareAndSet(current, value)) {
+			current = max.get();
+		}
+	}
+
+	/**
+	 * @return The number of touch events received by {@code onTouchEvent}.
+	 */
+	public long getTouchEventCount() {
+		return mTouchEventCount.get();
+	}
+
+	/**
+	 * @return The number of full geometry recalculations ({@code recalculateAll()}).
+	 */
+	public long getRecalculateAllCount() {
+		return mRecalculateAllCount.get();
+	}
+
+	/**
+	 * @return The number of progress-only geometry recalculations ({@code recalculateProgress()}),
+	 * including the ones done by {@code recalculateAll()}.
+	 */
+	public long getRecalculateProgressCount() {
+		return mRecalculateProgressCount.get();
+	}
+
+	/**
+	 * @return The number of {@code onDraw} calls.
+	 */
+	public long getDrawCount() {
+		return mDrawCount.get();
+	}
+
+	/**
+	 * @return The total time spent in {@code onDraw}, in nanoseconds.
+	 */
+	public long getDrawTotalNanos() {
+		return mDrawTotalNanos.get();
+	}
+
+	/**
+	 * @return The longest {@code onDraw} call, in nanoseconds.
+	 */
+	public long getDrawMaxNanos() {
+		return mDrawMaxNanos.get();
+	}
+
+	/**
+	 * Copy the {@code onDraw} duration histogram. Bucket {@code i} counts the draws shorter than
+	 * {@code DRAW_BUCKET_BOUNDS_NANOS[i]} (and not counted in an earlier bucket).
+	 * @param outCounts Array of at least {@code DRAW_BUCKET_COUNT} elements that receives the counts.
+	 */
+	public void getDrawHistogram(long[] outCounts) {
+		for (int i = 0; i < DRAW_BUCKET_COUNT; i++) {
+			outCounts[i] = mDrawHistogram.get(i);
+		}
+	}
+
+	/**
+	 * @return The number of invalidations, partial or full. Full invalidations include the ones from setters,
+	 * the layout, styles and restoring the state, and progress changes before the first draw.
+	 */
+	public long getInvalidateCount() {
+		return mInvalidateCount.get();
+	}
+
+	/**
+	 * @return The number of invalidations by progress changes that only invalidated part of the View.
+	 */
+	public long getPartialInvalidateCount() {
+		return mPartialInvalidateCount.get();
+	}
+
+	/**
+	 * @return The number of listener callbacks.
+	 */
+	public long getListenerCallCount() {
+		return mListenerCallCount.get();
+	}
+
+	/**
+	 * @return The total time spent in listener callbacks, in nanoseconds.
+	 */
+	public long getListenerTotalNanos() {
+		return mListenerTotalNanos.get();
+	}
+
+	/**
+	 * @return The longest listener callback, in nanoseconds.
+	 */
+	public long getListenerMaxNanos() {
+		return mListenerMaxNanos.get();
+	}
+
+	/**
+	 * Reset all of the counters and timings to zero.
+	 * Values recorded at the same time by another thread may be partly lost.
+	 */
+	public void reset() {
+		mTouchEventCount.set(0);
+		mRecalculateAllCount.set(0);
+		mRecalculateProgressCount.set(0);
+		mDrawCount.set(0);
+		mDrawTotalNanos.set(0);
+		mDrawMaxNanos.set(0);
+		for (int i = 0; i < DRAW_BUCKET_COUNT; i++) {
+			mDrawHistogram.set(i, 0);
+		}
+		mInvalidateCount.set(0);
+		mPartialInvalidateCount.set(0);
+		mListenerCallCount.set(0);
+		mListenerTotalNanos.set(0);
+		mListenerMaxNanos.set(0);
+	}
+}
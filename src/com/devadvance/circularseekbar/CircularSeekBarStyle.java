@@ -0,0 +1,514 @@
+/*
+ *
+ * Copyright 2013 Matt Joseph
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.devadvance.circularseekbar;
+
+import android.content.Context;
+import android.graphics.Paint;
+import android.util.AttributeSet;
+
+/**
+ * Immutable snapshot of the colors and sizes of a CircularSeekBar, together with its {@code Paint} objects.
+ * Many CircularSeekBar instances can share one style (see {@link CircularSeekBar#setStyle(CircularSeekBarStyle)}),
+ * so they also share the {@code Paint} objects instead of each creating their own.
+ * An instance copies the {@code Paint} objects the first time one of its own setters changes them.
+ * Build a style with a {@link Builder}, from XML attributes or in code, or get one with
+ * {@link CircularSeekBar#getStyle()} from an existing CircularSeekBar.
+ */
+public final class CircularSeekBarStyle {
+
+	final int mCircleColor;
+	final int mCircleFillColor;
+	final int mCircleProgressColor;
+	final int mPointerColor;
+	final int mPointerHaloColor;
+	final int mPointerHaloColorOnTouch;
+	final int mPointerAlpha;
+	final int mPointerAlphaOnTouch;
+	final int mTickColor;
+	final float mCircleStrokeWidth;
+	final float mPointerRadius;
+	final float mPointerHaloWidth;
+	final float mPointerHaloBorderWidth;
+
+	/**
+	 * The shared {@code Paint} objects. These must never be modified.
+	 * The pointer {@code Paint} objects are null if the style was taken from a CircularSeekBar in gauge mode.
+	 */
+	final Paint mCirclePaint;
+	final Paint mCircleFillPaint;
+	final Paint mCircleProgressPaint;
+	final Paint mPointerPaint;
+	final Paint mPointerHaloPaint;
+	final Paint mPointerHaloBorderPaint;
+	final Paint mTickPaint;
+
+	/**
+	 * Take a snapshot of the style of a CircularSeekBar. The {@code Paint} objects are copied,
+	 * so later changes to the CircularSeekBar do not affect the style.
+	 * @param seekBar The CircularSeekBar to take the style from.
+	 */
+	CircularSeekBarStyle(CircularSeekBar seekBar) {
+		mCircleColor = seekBar.mCircleColor;
+		mCircleFillColor = seekBar.mCircleFillColor;
+		mCircleProgressColor = seekBar.mCircleProgressColor;
+		mPointerColor = seekBar.mPointerColor;
+		mPointerHaloColor = seekBar.mPointerHaloColor;
+		mPointerHaloColorOnTouch = seekBar.mPointerHaloColorOnTouch;
+		mPointerAlpha = seekBar.mPointerAlpha;
+		mPointerAlphaOnTouch = seekBar.mPointerAlphaOnTouch;
+		mTickColor = seekBar.mTickColor;
+		mCircleStrokeWidth = seekBar.mCircleStrokeWidth;
+		mPointerRadius = seekBar.mPointerRadius;
+		mPointerHaloWidth = seekBar.mPointerHaloWidth;
+		mPointerHaloBorderWidth = seekBar.mPointerHaloBorderWidth;
+
+		mCirclePaint = new Paint(seekBar.mCirclePaint);
+		mCircleFillPaint = new Paint(seekBar.mCircleFillPaint);
+		mCircleProgressPaint = new Paint(seekBar.mCircleProgressPaint);
+		// The progress gradient belongs to each CircularSeekBar, not to the style
+		mCircleProgressPaint.setShader(null);
+		mCircleProgressPaint.setColor(mCircleProgressColor);
+		mTickPaint = new Paint(seekBar.mTickPaint);
+		if (seekBar.mPointerPaint != null) {
+			mPointerPaint = new Paint(seekBar.mPointerPaint);
+			mPointerHaloPaint = new Paint(seekBar.mPointerHaloPaint);
+			// The CircularSeekBar might be touched right now
+			mPointerHaloPaint.setColor(mPointerHaloColor);
+			mPointerHaloPaint.setAlpha(mPointerAlpha);
+			mPointerHaloBorderPaint = new Paint(seekBar.mPointerHaloBorderPaint);
+		} else {
+			mPointerPaint = null;
+			mPointerHaloPaint = null;
+			mPointerHaloBorderPaint = null;
+		}
+	}
+
+	/**
+	 * Create a style from colors and sizes, with new {@code Paint} objects.
+	 */
+	CircularSeekBarStyle(Builder builder) {
+		mCircleColor = builder.mCircleColor;
+		mCircleFillColor = builder.mCircleFillColor;
+		mCircleProgressColor = builder.mCircleProgressColor;
+		mPointerColor = builder.mPointerColor;
+		mPointerHaloColor = builder.mPointerHaloColor;
+		mPointerHaloColorOnTouch = builder.mPointerHaloColorOnTouch;
+		mPointerAlpha = builder.mPointerAlpha;
+		mPointerAlphaOnTouch = builder.mPointerAlphaOnTouch;
+		mTickColor = builder.mTickColor;
+		mCircleStrokeWidth = builder.mCircleStrokeWidth;
+		mPointerRadius = builder.mPointerRadius;
+		mPointerHaloWidth = builder.mPointerHaloWidth;
+		mPointerHaloBorderWidth = builder.mPointerHaloBorderWidth;
+
+		mCirclePaint = createCirclePaint(mCircleColor, mCircleStrokeWidth);
+		mCircleFillPaint = createCircleFillPaint(mCircleFillColor);
+		mCircleProgressPaint = createCirclePaint(mCircleProgressColor, mCircleStrokeWidth);
+		mTickPaint = createTickPaint(mTickColor, mCircleStrokeWidth);
+		mPointerPaint = createPointerPaint(mPointerColor, mPointerRadius);
+		mPointerHaloPaint = createPointerHaloPaint(mPointerPaint, mPointerHaloColor, mPointerAlpha, mPointerRadius + mPointerHaloWidth);
+		mPointerHaloBorderPaint = createPointerHaloBorderPaint(mPointerPaint, mPointerHaloBorderWidth);
+	}
+
+	/**
+	 * Create the {@code Paint} used to draw the circle or the progress along it.
+	 * @param color The color of the stroke.
+	 * @param strokeWidth The width of the circle (in pixels).
+	 * @return The new {@code Paint}.
+	 */
+	static Paint createCirclePaint(int color, float strokeWidth) {
+		Paint paint = new Paint();
+		paint.setAntiAlias(true);
+		paint.setDither(true);
+		paint.setColor(color);
+		paint.setStrokeWidth(strokeWidth);
+		paint.setStyle(Paint.Style.STROKE);
+		paint.setStrokeJoin(Paint.Join.ROUND);
+		paint.setStrokeCap(Paint.Cap.ROUND);
+		return paint;
+	}
+
+	/**
+	 * Create the {@code Paint} used to fill the inside of the circle.
+	 * @param color The fill color.
+	 * @return The new {@code Paint}.
+	 */
+	static Paint createCircleFillPaint(int color) {
+		Paint paint = new Paint();
+		paint.setAntiAlias(true);
+		paint.setDither(true);
+		paint.setColor(color);
+		paint.setStyle(Paint.Style.FILL);
+		return paint;
+	}
+
+	/**
+	 * Create the {@code Paint} used to draw the tick marks.
+	 * @param color The color of the tick marks.
+	 * @param circleStrokeWidth The width of the circle (in pixels). The tick marks are thinner.
+	 * @return The new {@code Paint}.
+	 */
+	static Paint createTickPaint(int color, float circleStrokeWidth) {
+		Paint paint = new Paint();
+		paint.setAntiAlias(true);
+		paint.setColor(color);
+		paint.setStrokeWidth(Math.max(1f, circleStrokeWidth / 8f));
+		paint.setStrokeCap(Paint.Cap.ROUND);
+		return paint;
+	}
+
+	/**
+	 * Create the {@code Paint} used to draw the pointer.
+	 * @param color The color of the pointer.
+	 * @param pointerRadius The radius of the pointer (in pixels).
+	 * @return The new {@code Paint}.
+	 */
+	static Paint createPointerPaint(int color, float pointerRadius) {
+		Paint paint = new Paint();
+		paint.setAntiAlias(true);
+		paint.setDither(true);
+		paint.setStyle(Paint.Style.FILL);
+		paint.setColor(color);
+		paint.setStrokeWidth(pointerRadius);
+		return paint;
+	}
+
+	/**
+	 * Create the {@code Paint} used to draw the halo around the pointer.
+	 * @param pointerPaint The {@code Paint} of the pointer, which the halo is based on.
+	 * @param color The color of the halo.
+	 * @param alpha The alpha of the halo.
+	 * @param width The radius of the pointer plus the width of the halo (in pixels).
+	 * @return The new {@code Paint}.
+	 */
+	static Paint createPointerHaloPaint(Paint pointerPaint, int color, int alpha, float width) {
+		Paint paint = new Paint();
+		paint.set(pointerPaint);
+		paint.setColor(color);
+		paint.setAlpha(alpha);
+		paint.setStrokeWidth(width);
+		return paint;
+	}
+
+	/**
+	 * Create the {@code Paint} used to draw the border of the pointer, outside of the halo.
+	 * @param pointerPaint The {@code Paint} of the pointer, which the border is based on.
+	 * @param width The width of the border (in pixels).
+	 * @return The new {@code Paint}.
+	 */
+	static Paint createPointerHaloBorderPaint(Paint pointerPaint, float width) {
+		Paint paint = new Paint();
+		paint.set(pointerPaint);
+		paint.setStrokeWidth(width);
+		paint.setStyle(Paint.Style.STROKE);
+		return paint;
+	}
+
+	/**
+	 * @return An integer color value for the circle
+	 */
+	public int getCircleColor() {
+		return mCircleColor;
+	}
+
+	/**
+	 * @return An integer color value for the circle fill
+	 */
+	public int getCircleFillColor() {
+		return mCircleFillColor;
+	}
+
+	/**
+	 * @return An integer color value for the circle progress
+	 */
+	public int getCircleProgressColor() {
+		return mCircleProgressColor;
+	}
+
+	/**
+	 * @return An integer color value for the pointer
+	 */
+	public int getPointerColor() {
+		return mPointerColor;
+	}
+
+	/**
+	 * @return An integer color value for the pointer halo
+	 */
+	public int getPointerHaloColor() {
+		return mPointerHaloColor;
+	}
+
+	/**
+	 * @return An integer color value for the pointer halo when touched
+	 */
+	public int getPointerHaloColorOnTouch() {
+		return mPointerHaloColorOnTouch;
+	}
+
+	/**
+	 * @return An integer alpha value for the pointer (0..255)
+	 */
+	public int getPointerAlpha() {
+		return mPointerAlpha;
+	}
+
+	/**
+	 * @return An integer alpha value for the pointer (0..255) when touched
+	 */
+	public int getPointerAlphaOnTouch() {
+		return mPointerAlphaOnTouch;
+	}
+
+	/**
+	 * @return An integer color value for the tick marks
+	 */
+	public int getTickColor() {
+		return mTickColor;
+	}
+
+	/**
+	 * @return The width of the circle (in pixels)
+	 */
+	public float getCircleStrokeWidth() {
+		return mCircleStrokeWidth;
+	}
+
+	/**
+	 * @return The radius of the pointer (in pixels)
+	 */
+	public float getPointerRadius() {
+		return mPointerRadius;
+	}
+
+	/**
+	 * @return The width of the pointer halo (in pixels)
+	 */
+	public float getPointerHaloWidth() {
+		return mPointerHaloWidth;
+	}
+
+	/**
+	 * @return The width of the border around the pointer halo (in pixels)
+	 */
+	public float getPointerHaloBorderWidth() {
+		return mPointerHaloBorderWidth;
+	}
+
+	/**
+	 * Builds a CircularSeekBarStyle without a CircularSeekBar, starting from the XML attributes or the defaults.
+	 * The sizes are in pixels.
+	 */
+	public static final class Builder {
+
+		int mCircleColor;
+		int mCircleFillColor;
+		int mCircleProgressColor;
+		int mPointerColor;
+		int mPointerHaloColor;
+		int mPointerHaloColorOnTouch;
+		int mPointerAlpha;
+		int mPointerAlphaOnTouch;
+		int mTickColor;
+		float mCircleStrokeWidth;
+		float mPointerRadius;
+		float mPointerHaloWidth;
+		float mPointerHaloBorderWidth;
+
+		/**
+		 * Start from the default colors and sizes.
+		 * @param context The context used to convert the default sizes from dp to pixels.
+		 */
+		public Builder(Context context) {
+			this(context, null, 0);
+		}
+
+		/**
+		 * Start from the colors and sizes in XML attributes, using the defaults for the ones that are not specified.
+		 * @param context The context used to resolve the attributes.
+		 * @param attrs The attributes from XML, or null.
+		 * @param defStyle The default style attribute, or 0.
+		 */
+		public Builder(Context context, AttributeSet attrs, int defStyle) {
+			CircularSeekBarAttributes attributes = CircularSeekBarAttributes.obtain(context, attrs, defStyle,
+					context.getResources().getDisplayMetrics().density);
+			mCircleColor = attributes.mCircleColor;
+			mCircleFillColor = attributes.mCircleFillColor;
+			mCircleProgressColor = attributes.mCircleProgressColor;
+			mPointerColor = attributes.mPointerColor;
+			mPointerHaloColor = attributes.mPointerHaloColor;
+			mPointerHaloColorOnTouch = attributes.mPointerHaloColorOnTouch;
+			mPointerAlpha = attributes.mPointerAlpha;
+			mPointerAlphaOnTouch = attributes.mPointerAlphaOnTouch;
+			mTickColor = attributes.mTickColor;
+			mCircleStrokeWidth = attributes.mCircleStrokeWidth;
+			mPointerRadius = attributes.mPointerRadius;
+			mPointerHaloWidth = attributes.mPointerHaloWidth;
+			mPointerHaloBorderWidth = attributes.mPointerHaloBorderWidth;
+		}
+
+		/**
+		 * Start from the colors and sizes of an existing style.
+		 * @param style The style to copy.
+		 */
+		public Builder(CircularSeekBarStyle style) {
+			mCircleColor = style.mCircleColor;
+			mCircleFillColor = style.mCircleFillColor;
+			mCircleProgressColor = style.mCircleProgressColor;
+			mPointerColor = style.mPointerColor;
+			mPointerHaloColor = style.mPointerHaloColor;
+			mPointerHaloColorOnTouch = style.mPointerHaloColorOnTouch;
+			mPointerAlpha = style.mPointerAlpha;
+			mPointerAlphaOnTouch = style.mPointerAlphaOnTouch;
+			mTickColor = style.mTickColor;
+			mCircleStrokeWidth = style.mCircleStrokeWidth;
+			mPointerRadius = style.mPointerRadius;
+			mPointerHaloWidth = style.mPointerHaloWidth;
+			mPointerHaloBorderWidth = style.mPointerHaloBorderWidth;
+		}
+
+		/**
+		 * @param color The color of the circle.
+		 * @return This Builder.
+		 */
+		public Builder setCircleColor(int color) {
+			mCircleColor = color;
+			return this;
+		}
+
+		/**
+		 * @param color The color of the circle fill.
+		 * @return This Builder.
+		 */
+		public Builder setCircleFillColor(int color) {
+			mCircleFillColor = color;
+			return this;
+		}
+
+		/**
+		 * @param color The color of the circle progress.
+		 * @return This Builder.
+		 */
+		public Builder setCircleProgressColor(int color) {
+			mCircleProgressColor = color;
+			return this;
+		}
+
+		/**
+		 * @param color The color of the pointer.
+		 * @return This Builder.
+		 */
+		public Builder setPointerColor(int color) {
+			mPointerColor = color;
+			return this;
+		}
+
+		/**
+		 * @param color The color of the pointer halo.
+		 * @return This Builder.
+		 */
+		public Builder setPointerHaloColor(int color) {
+			mPointerHaloColor = color;
+			return this;
+		}
+
+		/**
+		 * @param color The color of the pointer halo while the pointer is touched.
+		 * @return This Builder.
+		 */
+		public Builder setPointerHaloColorOnTouch(int color) {
+			mPointerHaloColorOnTouch = color;
+			return this;
+		}
+
+		/**
+		 * @param alpha The alpha of the pointer halo (0..255). Values outside of the range are ignored.
+		 * @return This Builder.
+		 */
+		public Builder setPointerAlpha(int alpha) {
+			if (alpha >= 0 && alpha <= 255) {
+				mPointerAlpha = alpha;
+			}
+			return this;
+		}
+
+		/**
+		 * @param alpha The alpha of the pointer halo (0..255) while the pointer is touched. Values outside of the range are ignored.
+		 * @return This Builder.
+		 */
+		public Builder setPointerAlphaOnTouch(int alpha) {
+			if (alpha >= 0 && alpha <= 255) {
+				mPointerAlphaOnTouch = alpha;
+			}
+			return this;
+		}
+
+		/**
+		 * @param color The color of the tick marks.
+		 * @return This Builder.
+		 */
+		public Builder setTickColor(int color) {
+			mTickColor = color;
+			return this;
+		}
+
+		/**
+		 * @param width The width of the circle (in pixels).
+		 * @return This Builder.
+		 */
+		public Builder setCircleStrokeWidth(float width) {
+			mCircleStrokeWidth = width;
+			return this;
+		}
+
+		/**
+		 * @param radius The radius of the pointer (in pixels).
+		 * @return This Builder.
+		 */
+		public Builder setPointerRadius(float radius) {
+			mPointerRadius = radius;
+			return this;
+		}
+
+		/**
+		 * @param width The width of the pointer halo (in pixels).
+		 * @return This Builder.
+		 */
+		public Builder setPointerHaloWidth(float width) {
+			mPointerHaloWidth = width;
+			return this;
+		}
+
+		/**
+		 * @param width The width of the border around the pointer halo (in pixels).
+		 * @return This Builder.
+		 */
+		public Builder setPointerHaloBorderWidth(float width) {
+			mPointerHaloBorderWidth = width;
+			return this;
+		}
+
+		/**
+		 * Create the style and its {@code Paint} objects.
+		 * @return The new style, ready to be shared with {@link CircularSeekBar#setStyle(CircularSeekBarStyle)}.
+		 */
+		public CircularSeekBarStyle build() {
+			return new CircularSeekBarStyle(this);
+		}
+	}
+}